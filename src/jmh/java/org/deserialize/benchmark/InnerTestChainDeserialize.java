@@ -0,0 +1,17 @@
+package org.deserialize.benchmark;
+
+import org.deserialize.mapping.AbstractCompiledMapping;
+import org.deserialize.test.InnerTest;
+
+import java.io.IOException;
+
+/**
+ * Maps {@link InnerTest#getInner()} chains {@value MappingPayloads#CHAIN_DEPTH} levels deep, see
+ * {@code mapping/innerTestChain.json}. Always interpreted: the generator only runs on the main classes.
+ */
+public class InnerTestChainDeserialize extends AbstractCompiledMapping<InnerTest> {
+
+    public InnerTestChainDeserialize() throws IOException {
+        super(InnerTest.class, "innerTestChain", "mapping/innerTestChain.json");
+    }
+}
@@ -0,0 +1,134 @@
+package org.deserialize.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.deserialize.mapping.MappingKeys;
+import org.deserialize.mapping.MappingPropertySource;
+import org.deserialize.mapping.MappingRegistry;
+import org.deserialize.test.InnerTest;
+import org.deserialize.test.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping deserializers against plain Jackson binding of the same target type.
+ * <p>
+ * {@code mapping} reads documents in the external shape of the mapping file with {@code TestDeserialize} (or
+ * {@link InnerTestChainDeserialize} for the {@code NESTED} shape); {@code jackson} reads the same values in the
+ * shape of the target properties with annotations disabled, which is the cost of plain data binding.
+ * <p>
+ * Run with {@code mvn -P benchmark verify}; the gc profiler reports the allocation rate next to ops/s, see the
+ * {@code jmh.*} properties of the profile to select benchmarks or parameters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    private static final String RESOURCE_PROPERTIES = "application.properties";
+
+    /**
+     * Documents per payload: a single tiny document, a few kilobytes, several megabytes.
+     */
+    @Param({"1", "100", "10000"})
+    public int documents;
+
+    @Param({"FLAT", "ARRAYS", "NESTED", "DATES"})
+    public MappingPayloads.Shape shape;
+
+    /**
+     * {@code abstract-deserialize.resource.<name>.mode} of the mapping, {@code generated} for the deserializer
+     * generated at build time.
+     */
+    @Param({"tree", "streaming", "generated"})
+    public String mode;
+
+    private byte[] externalPayload;
+    private byte[] internalPayload;
+    private ObjectReader mappingReader;
+    private ObjectReader jacksonReader;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Properties properties = loadProperties();
+        for (String resource : new String[]{"test", "innerTestChain"}) {
+            boolean generated = "generated".equals(mode);
+            properties.setProperty(MappingKeys.RESOURCE_PREFIX + resource + "." + MappingKeys.GENERATED, Boolean.toString(generated));
+            properties.setProperty(MappingKeys.RESOURCE_PREFIX + resource + "." + MappingKeys.MODE, generated ? "streaming" : mode);
+            properties.setProperty(MappingKeys.RESOURCE_PREFIX + resource + "." + MappingKeys.IGNORE_UNKNOWN_PROPERTIES, "true");
+            properties.setProperty(MappingKeys.RESOURCE_PREFIX + resource + "." + MappingKeys.METRICS, "false");
+        }
+        MappingPropertySource.setResolver(properties::getProperty);
+        MappingRegistry.clear();
+
+        Class<?> targetType = shape == MappingPayloads.Shape.NESTED ? InnerTest.class : Test.class;
+        Class<?> arrayType = targetType == InnerTest.class ? InnerTest[].class : Test[].class;
+
+        ObjectMapper mappingMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        if (targetType == InnerTest.class) {
+            mappingMapper.registerModule(new SimpleModule().addDeserializer(InnerTest.class, new InnerTestChainDeserialize()));
+        }
+        ObjectMapper jacksonMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(MapperFeature.USE_ANNOTATIONS)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+        mappingReader = mappingMapper.readerFor(arrayType);
+        jacksonReader = jacksonMapper.readerFor(arrayType);
+
+        externalPayload = mappingMapper.writeValueAsBytes(MappingPayloads.documents(shape, documents));
+        // the internal payload carries the very values the mapping produces
+        ArrayNode internal = (ArrayNode) jacksonMapper.valueToTree(mappingReader.readValue(externalPayload));
+        for (JsonNode document : internal) {
+            ((ObjectNode) document).remove("instant");
+        }
+        internalPayload = jacksonMapper.writeValueAsBytes(internal);
+    }
+
+    @Benchmark
+    public Object mapping() throws IOException {
+        return mappingReader.readValue(externalPayload);
+    }
+
+    @Benchmark
+    public Object jackson() throws IOException {
+        return jacksonReader.readValue(internalPayload);
+    }
+
+    private static Properties loadProperties() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream inputStream = MappingBenchmark.class.getClassLoader().getResourceAsStream(RESOURCE_PROPERTIES)) {
+            if (inputStream != null) {
+                properties.load(inputStream);
+            }
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,59 @@
+package org.deserialize.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.deserialize.mapping.MappingPropertySource;
+import org.deserialize.mapping.MappingRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Param;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the setup and both benchmark methods of {@link MappingBenchmark} once per shape and mode, so that
+ * {@code mvn -P benchmark verify} fails in the test phase, before the long JMH run, when the profile does not
+ * build or the two sides no longer read the same values.
+ */
+class MappingBenchmarkTest {
+
+    private static final int DOCUMENTS = 3;
+    private static final ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @AfterEach
+    void resetProperties() {
+        MappingPropertySource.setResolver(null);
+        MappingRegistry.clear();
+    }
+
+    @Test
+    void mapsEveryShapeAndModeLikePlainJackson() throws Exception {
+        for (MappingPayloads.Shape shape : MappingPayloads.Shape.values()) {
+            for (String mode : MappingBenchmark.class.getField("mode").getAnnotation(Param.class).value()) {
+                MappingBenchmark benchmark = new MappingBenchmark();
+                benchmark.documents = DOCUMENTS;
+                benchmark.shape = shape;
+                benchmark.mode = mode;
+                benchmark.setUp();
+
+                JsonNode mapped = tree(benchmark.mapping());
+                assertEquals(DOCUMENTS, mapped.size(), shape + " " + mode);
+                assertEquals(mapped, tree(benchmark.jackson()), shape + " " + mode);
+            }
+        }
+    }
+
+    private static JsonNode tree(Object documents) throws IOException {
+        ArrayNode tree = mapper.valueToTree(documents);
+        for (JsonNode document : tree) {
+            // initialized to the current time by Test itself
+            ((ObjectNode) document).remove("instant");
+        }
+        return tree;
+    }
+}
@@ -0,0 +1,121 @@
+package org.deserialize.benchmark;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Source documents in the external shape of the mapping files, {@code test.json} for {@code Test} and
+ * {@code innerTestChain.json} for the {@code InnerTest} chains. Values change with the document index, so that
+ * the parser cannot serve every string from its symbol table.
+ */
+final class MappingPayloads {
+
+    static final int ARRAY_LENGTH = 10;
+    static final int CHAIN_DEPTH = 8;
+
+    private static final JsonNodeFactory nodes = JsonNodeFactory.instance;
+    private static final long EPOCH_MILLIS = 1577959200000L;
+
+    private MappingPayloads() {}
+
+    /**
+     * @return a json array of {@code documents} documents of the given shape
+     */
+    static ArrayNode documents(Shape shape, int documents) {
+        ArrayNode array = nodes.arrayNode(documents);
+        for (int i = 0; i < documents; i++) {
+            array.add(document(shape, i));
+        }
+        return array;
+    }
+
+    private static ObjectNode document(Shape shape, int i) {
+        switch (shape) {
+            case FLAT:
+                return flat(i);
+            case ARRAYS:
+                return arrays(i);
+            case NESTED:
+                return chain(i, CHAIN_DEPTH);
+            case DATES:
+                return dates(i);
+            default:
+                throw new IllegalArgumentException("Unknown shape " + shape);
+        }
+    }
+
+    private static ObjectNode flat(int i) {
+        ObjectNode document = nodes.objectNode();
+        document.put("testid", "id-" + i);
+        document.put("testname", "name-" + i);
+        document.put("testNumber", i);
+        document.put("doubleNumber", i * 1.5);
+        document.put("floatTest", i * 0.5f);
+        document.put("uuid", new UUID(i, i).toString());
+        return document;
+    }
+
+    private static ObjectNode arrays(int i) {
+        ObjectNode document = nodes.objectNode();
+        document.put("testid", "id-" + i);
+        ArrayNode vet1 = document.putArray("vet1");
+        ArrayNode vet2 = document.putArray("vet2");
+        ArrayNode vet3 = document.putArray("vet3");
+        ArrayNode list1 = document.putArray("list1");
+        ArrayNode list2 = document.putArray("list2");
+        ArrayNode set2 = document.putArray("set2");
+        ArrayNode arrayOfArrayInteger = document.putArray("arrayOfArrayInteger");
+        for (int j = 0; j < ARRAY_LENGTH; j++) {
+            vet1.add(i + j);
+            vet2.add("value-" + i + "-" + j);
+            vet3.add(arrayObject(i + j));
+            list1.add(i * j);
+            list2.add(arrayObject(i * j));
+            set2.add(j);
+            arrayOfArrayInteger.addArray().add(i).add(j);
+        }
+        return document;
+    }
+
+    private static ObjectNode arrayObject(int id) {
+        ObjectNode object = nodes.objectNode();
+        object.put("id", id);
+        object.putObject("inn").put("name", "object-" + id);
+        return object;
+    }
+
+    private static ObjectNode chain(int i, int depth) {
+        ObjectNode level = nodes.objectNode();
+        level.put("innerId", "id-" + i + "-" + depth);
+        level.put("innerName", "name-" + depth);
+        level.put("flag", depth % 2 == 0);
+        if (depth > 1) {
+            level.set("next", chain(i, depth - 1));
+        }
+        return level;
+    }
+
+    private static ObjectNode dates(int i) {
+        long millis = EPOCH_MILLIS + i * 60_000L;
+        Instant instant = Instant.ofEpochMilli(millis);
+        ObjectNode document = nodes.objectNode();
+        document.put("testid", "id-" + i);
+        document.put("date", instant.toString());
+        document.put("longDate", millis);
+        document.put("testLocalDate", LocalDate.ofInstant(instant, ZoneOffset.UTC).toString());
+        document.put("testLocalDateTime", LocalDateTime.ofInstant(instant, ZoneOffset.UTC).toString());
+        document.put("testZonedDateTime", instant.atZone(ZoneOffset.UTC).toString());
+        return document;
+    }
+
+    enum Shape {
+        FLAT, ARRAYS, NESTED, DATES
+    }
+}
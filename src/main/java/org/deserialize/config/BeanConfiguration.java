@@ -1,16 +1,28 @@
 package org.deserialize.config;
 
 //import de.codecentric.boot.admin.server.config.EnableAdminServer;
+import com.enel.eic.commons.rest.RestClientService;
+import org.deserialize.mapping.MappingHeaderSource;
+import org.deserialize.mapping.MappingPropertySource;
 import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.orm.hibernate5.HibernateTransactionManager;
 import org.springframework.orm.hibernate5.LocalSessionFactoryBean;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import javax.sql.DataSource;
+import java.time.Duration;
 
 @Configuration
 @EnableTransactionManagement
@@ -44,4 +56,35 @@ public class BeanConfiguration {
         ApplicationContextUtils.setConfigurableBeanFactory(beanFactory);
     }
 
+    /**
+     * Registers the mapping resolvers before any bean is instantiated, so that the mapping deserializer beans compile
+     * their plans with the environment and profile values rather than the classpath {@code application.properties}.
+     */
+    @Bean
+    public static BeanFactoryPostProcessor mappingEnvironment(Environment environment) {
+        return beanFactory -> {
+            MappingPropertySource.setResolver(environment::getProperty);
+            // header entries of the mappings read the request bound to the deserializing thread
+            MappingHeaderSource.setResolver(name -> {
+                RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+                return attributes instanceof ServletRequestAttributes ? ((ServletRequestAttributes) attributes).getRequest().getHeader(name) : null;
+            });
+        };
+    }
+
+    /**
+     * Sizes the connection pools and the response cache shared by the {@link RestClientService} instances and
+     * releases them with the context.
+     */
+    @Bean
+    public DisposableBean restClientConnectionPools(Environment environment) {
+        RestClientService.setConnectionPool(
+                environment.getProperty("rest-client.max-connections-per-route", Integer.class, 0),
+                environment.getProperty("rest-client.max-connections-total", Integer.class, 0),
+                environment.getProperty("rest-client.idle-connection-timeout", Duration.class));
+        DataSize responseCacheSize = environment.getProperty("rest-client.response-cache-size", DataSize.class);
+        RestClientService.setResponseCacheSize(responseCacheSize != null ? responseCacheSize.toBytes() : 0);
+        return RestClientService::shutdown;
+    }
+
 }
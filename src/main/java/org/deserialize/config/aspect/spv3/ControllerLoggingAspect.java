@@ -6,7 +6,7 @@ import com.enel.eic.commons.property.ApplicationProperties;
 import com.enel.eic.commons.service.TracedRequestService;
 import com.enel.eic.commons.util.LabelUtils;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -14,6 +14,7 @@ import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
+import org.deserialize.utils.ObjectMapperRegistry;
 import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -34,7 +35,7 @@ import java.util.*;
 @ConditionalOnExpression("${commons.aspect.controller.enabled:true}")
 public class ControllerLoggingAspect extends AbstractLoggingAspect {
 
-    private final static ObjectMapper mapper = new ObjectMapper();
+    private final static ObjectWriter writer = ObjectMapperRegistry.writer();
 
     @Autowired
     private TracedRequestService tracedRequestService;
@@ -85,8 +86,8 @@ public class ControllerLoggingAspect extends AbstractLoggingAspect {
                 tracedRequest.setMethod(joinPointDetail.getMethod());
 
                 try {
-                    tracedRequest.setRequestBody(mapper.writeValueAsString(joinPointDetail.getSimpleParameterMap()));
-                    tracedRequest.setResponseBody(mapper.writeValueAsString(result));
+                    tracedRequest.setRequestBody(writer.writeValueAsString(joinPointDetail.getSimpleParameterMap()));
+                    tracedRequest.setResponseBody(writer.writeValueAsString(result));
                 } catch (JsonProcessingException e) {
 //                    throw new RuntimeException(e);
                 }
@@ -102,7 +103,7 @@ public class ControllerLoggingAspect extends AbstractLoggingAspect {
             tracedRequest.setMethod(joinPointDetail.getMethod());
 
             try {
-                tracedRequest.setRequestBody(StringUtils.substring(mapper.writeValueAsString(joinPointDetail.getSimpleParameterMap()), 0, 255));
+                tracedRequest.setRequestBody(StringUtils.substring(writer.writeValueAsString(joinPointDetail.getSimpleParameterMap()), 0, 255));
             } catch (JsonProcessingException e) {
 //                requestBody = joinPointDetail.getSimpleParameterMap().toString();
             }
@@ -1,16 +1,21 @@
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import jakarta.servlet.http.HttpServletRequest;
 import org.apache.commons.lang3.StringUtils;
-import org.springframework.util.StreamUtils;
+import org.deserialize.utils.ObjectMapperRegistry;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 
 import java.io.IOException;
-import java.nio.charset.Charset;
 
 public abstract class AbstractArgumentResolver implements HandlerMethodArgumentResolver {
 
-    protected final static ObjectMapper mapper = new ObjectMapper();
+    /**
+     * The mapper shared through {@link ObjectMapperRegistry}: subclasses must not reconfigure it.
+     */
+    protected final static ObjectMapper mapper = ObjectMapperRegistry.getMapper();
+
+    private final static ObjectReader bodyReader = ObjectMapperRegistry.reader(JsonNode.class);
 
     protected String getValueFromRequest(HttpServletRequest request, ParameterType parameterType, String parameterName) throws IOException {
         return switch (parameterType) {
@@ -22,7 +27,7 @@ public abstract class AbstractArgumentResolver implements HandlerMethodArgumentR
             }
             case BODY -> {
                 if (request.getInputStream() != null) {
-                    JsonNode body = mapper.readTree(StreamUtils.copyToString(request.getInputStream(), Charset.defaultCharset()));
+                    JsonNode body = bodyReader.readTree(request.getInputStream());
                     if (body != null) {
                         JsonNode parameterNode = body.findValue(parameterName);
                         if (parameterNode != null && !parameterNode.isNull()) {
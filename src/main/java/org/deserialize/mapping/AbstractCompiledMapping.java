@@ -0,0 +1,159 @@
+package org.deserialize.mapping;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.beans.Introspector;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Base class of the mapping driven deserializers.
+ * <p>
+ * The mapping resource of the target class is compiled into a {@link MappingPlan} by the shared
+ * {@link MappingRegistry} when the deserializer is constructed; each request then only walks the document
+ * against the precompiled plan, either from a {@code JsonNode} tree or straight from the parser tokens
+ * (see {@link MappingMode}).
+ * <p>
+ * With {@code abstract-deserialize.resource.<name>.generated=true} the deserializer emitted at build time by
+ * {@link MappingSourceGenerator} is used instead, when it is on the classpath and was built from the mapping file and
+ * {@code ignore-*} flags the resource has at runtime.
+ * <p>
+ * The deserializer only sees parser tokens, so json, CBOR and Smile payloads are mapped by the same mapping file;
+ * {@link #read(InputStream, String)} picks the encoding from the content type or the resource {@code format}.
+ * <p>
+ * Every document mapped is measured by the {@link MappingMetrics} of the deserializer and read within the
+ * {@code max-*} limits of its resource (see {@link LimitedParser}).
+ *
+ * @param <T> the mapped target type
+ */
+@Slf4j
+public abstract class AbstractCompiledMapping<T> extends StdDeserializer<T> {
+
+    /**
+     * Set by {@link MappingSourceGenerator}, which needs the interpreted plan of every deserializer.
+     */
+    static volatile boolean generatedDeserializersDisabled;
+
+    private final MappingResourceProperties properties;
+    private final String mappingLocation;
+    private final JsonDeserializer<T> generatedDeserializer;
+    private final MappingPlan plan;
+    private final MappingMetrics metrics;
+
+    /**
+     * @param targetClass     the mapped target type
+     * @param resourceName    name of the {@code abstract-deserialize.resource.<name>} configuration,
+     *                        defaults to the decapitalized simple name of the target class
+     * @param mappingLocation classpath location of the mapping file, defaults to {@code <path>/<prefix>.json}
+     */
+    protected AbstractCompiledMapping(Class<T> targetClass, String resourceName, String mappingLocation) throws IOException {
+        super(targetClass);
+        this.properties = MappingResourceProperties.of(resourceName != null ? resourceName : Introspector.decapitalize(targetClass.getSimpleName()));
+        this.mappingLocation = mappingLocation != null ? mappingLocation : properties.getMappingLocation();
+        this.generatedDeserializer = properties.isGenerated() && !generatedDeserializersDisabled ? loadGeneratedDeserializer() : null;
+        this.plan = generatedDeserializer != null ? null : MappingRegistry.getPlan(targetClass, properties, this.mappingLocation);
+        this.metrics = MappingMetrics.of(getClass(), properties);
+    }
+
+    @Override
+    public T deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (metrics == null) {
+            return deserialize(p, ctxt, new MappingStats());
+        }
+
+        long start = System.nanoTime();
+        long startOffset = MappingMetrics.offset(p.getTokenLocation());
+        MappingStats stats = new MappingStats();
+        T value;
+        try {
+            value = deserialize(p, ctxt, stats);
+        } catch (IOException | RuntimeException e) {
+            metrics.recordFailure(System.nanoTime() - start, e);
+            throw e;
+        }
+
+        metrics.recordSuccess(System.nanoTime() - start, startOffset, MappingMetrics.offset(p.getCurrentLocation()),
+                generatedDeserializer != null ? null : stats);
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T deserialize(JsonParser parser, DeserializationContext ctxt, MappingStats stats) throws IOException {
+        JsonParser p = LimitedParser.wrap(parser, properties);
+        if (generatedDeserializer != null) {
+            return generatedDeserializer.deserialize(p, ctxt);
+        }
+
+        MappingExecutor executor = new MappingExecutor(ctxt, properties.getParallelThreshold(), stats);
+        if (properties.getMode() == MappingMode.STREAMING) {
+            return (T) executor.execute(plan, p);
+        }
+
+        JsonNode source = executor.readSourceTree(plan, p);
+        try (JsonParser treeParser = source.traverse(p.getCodec())) {
+            treeParser.nextToken();
+            return (T) executor.execute(plan, treeParser);
+        }
+    }
+
+    /**
+     * Maps a whole payload outside of a message converter, typically a queue message.
+     *
+     * @param contentType content type of the payload, {@code null} or unknown to use the {@code format} of the resource
+     */
+    public T read(InputStream source, String contentType) throws IOException {
+        MappingFormat format = MappingFormat.forContentType(contentType);
+        ObjectMapper mapper = (format != null ? format : properties.getFormat()).getMapper();
+
+        try (JsonParser p = mapper.createParser(source)) {
+            DeserializationContext ctxt = ((DefaultDeserializationContext) mapper.getDeserializationContext())
+                    .createInstance(mapper.getDeserializationConfig(), p, mapper.getInjectableValues());
+            if (p.nextToken() == null) {
+                throw new MappingException(String.format("Empty %s payload for %s", mapper.getFactory().getFormatName(), handledType().getName()));
+            }
+            return deserialize(p, ctxt);
+        }
+    }
+
+    public MappingResourceProperties getProperties() {
+        return properties;
+    }
+
+    /**
+     * @return classpath location of the mapping file
+     */
+    String getMappingLocation() {
+        return mappingLocation;
+    }
+
+    /**
+     * @return the compiled plan, {@code null} when a generated deserializer is in use
+     */
+    public MappingPlan getPlan() {
+        return plan;
+    }
+
+    @SuppressWarnings("unchecked")
+    private JsonDeserializer<T> loadGeneratedDeserializer() {
+        String generatedClassName = getClass().getName() + MappingKeys.GENERATED_SUFFIX;
+        try {
+            Class<?> generatedClass = Class.forName(generatedClassName, true, getClass().getClassLoader());
+            if (!GeneratedMappingSupport.isCompiledWith(generatedClass, properties, mappingLocation)) {
+                log.warn("Generated deserializer {} was built with another mapping file or ignore-* properties than resource '{}', falling back to its mapping",
+                        generatedClassName, properties.getName());
+                return null;
+            }
+            return (JsonDeserializer<T>) generatedClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.warn("Generated deserializer {} not available, falling back to the mapping of resource '{}'", generatedClassName, properties.getName());
+            return null;
+        }
+    }
+}
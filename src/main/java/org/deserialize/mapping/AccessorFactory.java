@@ -0,0 +1,126 @@
+package org.deserialize.mapping;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Generates direct getter, setter and constructor lambdas through {@link LambdaMetafactory}, so mapped
+ * properties are accessed like hand written code. Members that cannot be linked from this package
+ * (non public classes, class loader mismatch, ...) fall back to reflection.
+ */
+final class AccessorFactory {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType SUPPLIER_TYPE = MethodType.methodType(Object.class);
+
+    private AccessorFactory() {}
+
+    @SuppressWarnings("unchecked")
+    static Function<Object, Object> getter(Method method) {
+        try {
+            MethodHandle handle = LOOKUP.unreflect(method);
+            CallSite site = LambdaMetafactory.metafactory(LOOKUP,
+                    "apply",
+                    MethodType.methodType(Function.class),
+                    GETTER_TYPE,
+                    handle,
+                    MethodType.methodType(wrap(method.getReturnType()), method.getDeclaringClass()));
+
+            return (Function<Object, Object>) site.getTarget().invoke();
+        } catch (Throwable e) {
+            method.setAccessible(true);
+            return bean -> {
+                try {
+                    return method.invoke(bean);
+                } catch (IllegalAccessException | InvocationTargetException ex) {
+                    throw new UndeclaredThrowableException(ex);
+                }
+            };
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static BiConsumer<Object, Object> setter(Method method) {
+        try {
+            MethodHandle handle = LOOKUP.unreflect(method);
+            CallSite site = LambdaMetafactory.metafactory(LOOKUP,
+                    "accept",
+                    MethodType.methodType(BiConsumer.class),
+                    SETTER_TYPE,
+                    handle,
+                    MethodType.methodType(void.class, method.getDeclaringClass(), wrap(method.getParameterTypes()[0])));
+
+            return (BiConsumer<Object, Object>) site.getTarget().invoke();
+        } catch (Throwable e) {
+            method.setAccessible(true);
+            return (bean, value) -> {
+                try {
+                    method.invoke(bean, value);
+                } catch (IllegalAccessException | InvocationTargetException ex) {
+                    throw new UndeclaredThrowableException(ex);
+                }
+            };
+        }
+    }
+
+    /**
+     * @return a supplier of new instances, or null when the class has no default constructor
+     */
+    @SuppressWarnings("unchecked")
+    static Supplier<Object> constructor(Class<?> klass) {
+        if (klass.isPrimitive() || klass.isArray() || klass.isInterface() || Modifier.isAbstract(klass.getModifiers())) {
+            return null;
+        }
+
+        Constructor<?> constructor;
+        try {
+            constructor = klass.getDeclaredConstructor();
+        } catch (NoSuchMethodException | RuntimeException e) {
+            return null;
+        }
+
+        try {
+            MethodHandle handle = LOOKUP.unreflectConstructor(constructor);
+            CallSite site = LambdaMetafactory.metafactory(LOOKUP,
+                    "get",
+                    MethodType.methodType(Supplier.class),
+                    SUPPLIER_TYPE,
+                    handle,
+                    MethodType.methodType(klass));
+
+            return (Supplier<Object>) site.getTarget().invoke();
+        } catch (Throwable e) {
+            try {
+                constructor.setAccessible(true);
+            } catch (RuntimeException ex) {
+                return null;
+            }
+
+            return () -> {
+                try {
+                    return constructor.newInstance();
+                } catch (InstantiationException | IllegalAccessException | InvocationTargetException ex) {
+                    throw new UndeclaredThrowableException(ex);
+                }
+            };
+        }
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+    }
+}
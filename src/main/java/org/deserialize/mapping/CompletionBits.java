@@ -0,0 +1,39 @@
+package org.deserialize.mapping;
+
+/**
+ * Bit set of the required and defaulted bindings of a {@link MappingPlan}, one bit per
+ * {@link TargetBinding#getCompletionIndex() completion index}, stored as plain {@code long} words so that the
+ * missing required bindings of a whole (sub)tree are found with one mask comparison per 64 bindings.
+ */
+final class CompletionBits {
+
+    static final long[] EMPTY = new long[0];
+
+    private CompletionBits() {}
+
+    static long[] forSize(int size) {
+        return size == 0 ? EMPTY : new long[(size + Long.SIZE - 1) / Long.SIZE];
+    }
+
+    static void set(long[] bits, int index) {
+        bits[index / Long.SIZE] |= 1L << index;
+    }
+
+    static boolean isSet(long[] bits, int index) {
+        return (bits[index / Long.SIZE] & 1L << index) != 0;
+    }
+
+    /**
+     * @return the lowest index of {@code mask} not set in {@code bits}, {@code -1} when all of them are set
+     */
+    static int firstMissing(long[] bits, long[] mask) {
+        for (int word = 0; word < mask.length; word++) {
+            long missing = mask[word] & ~bits[word];
+            if (missing != 0) {
+                return word * Long.SIZE + Long.numberOfTrailingZeros(missing);
+            }
+        }
+
+        return -1;
+    }
+}
@@ -0,0 +1,71 @@
+package org.deserialize.mapping;
+
+import com.fasterxml.jackson.databind.JavaType;
+
+import java.lang.reflect.Array;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+/**
+ * Builds array and collection targets from the elements collected for a mapped source array.
+ */
+final class Containers {
+
+    private Containers() {}
+
+    @SuppressWarnings("unchecked")
+    static Object toContainer(JavaType type, List<Object> elements) throws MappingException {
+        Class<?> rawClass = type.getRawClass();
+
+        if (rawClass.isArray()) {
+            Object array = Array.newInstance(rawClass.getComponentType(), elements.size());
+            for (int i = 0; i < elements.size(); i++) {
+                Array.set(array, i, elements.get(i));
+            }
+            return array;
+        }
+
+        if (Collection.class.isAssignableFrom(rawClass)) {
+            Collection<Object> collection = (Collection<Object>) newCollection(rawClass, elements.size());
+            collection.addAll(elements);
+            return collection;
+        }
+
+        throw new MappingException(String.format("Target %s is not an array or a collection", rawClass.getName()));
+    }
+
+    static Collection<?> newCollection(Class<?> rawClass, int size) throws MappingException {
+        if (rawClass.isInterface()) {
+            if (SortedSet.class.isAssignableFrom(rawClass)) {
+                return new TreeSet<>();
+            }
+            if (Set.class.isAssignableFrom(rawClass)) {
+                return new LinkedHashSet<>(Math.max(16, size * 2));
+            }
+            if (Queue.class.isAssignableFrom(rawClass) || Deque.class.isAssignableFrom(rawClass)) {
+                return new ArrayDeque<>(size);
+            }
+            return new ArrayList<>(size);
+        }
+
+        Supplier<Object> constructor = AccessorFactory.constructor(rawClass);
+        if (constructor == null) {
+            throw new MappingException(String.format("Collection %s needs a default constructor", rawClass.getName()));
+        }
+
+        try {
+            return (Collection<?>) constructor.get();
+        } catch (RuntimeException e) {
+            throw new MappingException(String.format("Unable to instantiate %s", rawClass.getName()), e);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.deserialize.mapping;
+
+import java.util.Map;
+
+/**
+ * Read only lookup of the field names known to a {@link SourceNode} or a {@link MappingPlan}, built once at compile time.
+ * <p>
+ * The names are placed in a collision free (perfect) hash table: the slot of a name is derived from its cached
+ * {@code hashCode} by one multiplication, so deciding whether a source field is mapped costs a single slot probe
+ * and, because parser field names are canonicalized, usually a reference comparison. Name sets whose hash codes
+ * collide keep a regular map.
+ *
+ * @param <V> the value bound to a name
+ */
+final class FieldTable<V> {
+
+    private static final int SEED = 0x9E3779B9;
+    private static final int ATTEMPTS_PER_SIZE = 32;
+    private static final int MAX_BITS = 16;
+    private static final int MAX_SLOTS_PER_NAME = 16;
+
+    private static final FieldTable<?> EMPTY = new FieldTable<>(new String[2], new Object[2], 1, SEED, null);
+
+    private final String[] names;
+    private final Object[] values;
+    private final int shift;
+    private final int multiplier;
+    private final Map<String, V> fallback;
+
+    private FieldTable(String[] names, Object[] values, int bits, int multiplier, Map<String, V> fallback) {
+        this.names = names;
+        this.values = values;
+        this.shift = Integer.SIZE - bits;
+        this.multiplier = multiplier;
+        this.fallback = fallback;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <V> FieldTable<V> of(Map<String, V> entries) {
+        if (entries.isEmpty()) {
+            return (FieldTable<V>) EMPTY;
+        }
+
+        int size = entries.size();
+        int maxBits = Math.min(MAX_BITS, Integer.SIZE - Integer.numberOfLeadingZeros(size * MAX_SLOTS_PER_NAME - 1));
+        for (int bits = Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(size * 2 - 1)); bits <= maxBits; bits++) {
+            for (int attempt = 0; attempt < ATTEMPTS_PER_SIZE; attempt++) {
+                // odd multipliers only, so that every bit of the hash code reaches the slot bits
+                FieldTable<V> table = place(entries, bits, SEED + 2 * attempt);
+                if (table != null) {
+                    return table;
+                }
+            }
+        }
+
+        return new FieldTable<>(new String[1], new Object[1], 1, SEED, Map.copyOf(entries));
+    }
+
+    private static <V> FieldTable<V> place(Map<String, V> entries, int bits, int multiplier) {
+        String[] names = new String[1 << bits];
+        Object[] values = new Object[1 << bits];
+        for (Map.Entry<String, V> entry : entries.entrySet()) {
+            int slot = (entry.getKey().hashCode() * multiplier) >>> (Integer.SIZE - bits);
+            if (names[slot] != null) {
+                return null;
+            }
+            names[slot] = entry.getKey();
+            values[slot] = entry.getValue();
+        }
+
+        return new FieldTable<>(names, values, bits, multiplier, null);
+    }
+
+    /**
+     * @return the value bound to the name, {@code null} when the name is unknown
+     */
+    @SuppressWarnings("unchecked")
+    V get(String name) {
+        if (fallback != null) {
+            return fallback.get(name);
+        }
+
+        int slot = (name.hashCode() * multiplier) >>> shift;
+        String candidate = names[slot];
+        return candidate == name || candidate != null && candidate.equals(name) ? (V) values[slot] : null;
+    }
+}
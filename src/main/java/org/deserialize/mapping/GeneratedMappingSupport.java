@@ -0,0 +1,103 @@
+package org.deserialize.mapping;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.deserialize.utils.ObjectMapperRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Runtime helpers shared by the deserializers emitted by {@link MappingSourceGenerator}.
+ */
+public final class GeneratedMappingSupport {
+
+    // constants of the generated classes recording the build values of the resource
+    static final String MAPPING_LOCATION = "MAPPING_LOCATION";
+    static final String IGNORE_UNKNOWN_PROPERTIES = "IGNORE_UNKNOWN_PROPERTIES";
+    static final String IGNORE_UNMAPPED_PROPERTIES = "IGNORE_UNMAPPED_PROPERTIES";
+
+    private GeneratedMappingSupport() {}
+
+    /**
+     * @return whether the generated class was built from the mapping file and the {@code ignore-*} flags the resource
+     * has at runtime, the only properties fixed at build time
+     */
+    static boolean isCompiledWith(Class<?> generatedClass, MappingResourceProperties properties, String mappingLocation) throws ReflectiveOperationException {
+        return mappingLocation.equals(generatedClass.getField(MAPPING_LOCATION).get(null))
+                && properties.isIgnoreUnknownProperties() == generatedClass.getField(IGNORE_UNKNOWN_PROPERTIES).getBoolean(null)
+                && properties.isIgnoreUnmappedProperties() == generatedClass.getField(IGNORE_UNMAPPED_PROPERTIES).getBoolean(null);
+    }
+
+    public static Object toContainer(JavaType type, List<Object> elements) throws MappingException {
+        return Containers.toContainer(type, elements);
+    }
+
+    /**
+     * Bit set of the given element indexes, once, when the generated class is initialized.
+     */
+    public static BitSet indexes(int... indexes) {
+        BitSet bits = new BitSet();
+        for (int index : indexes) {
+            bits.set(index);
+        }
+        return bits;
+    }
+
+    /**
+     * Reads a number array or collection target supported by {@link PrimitiveArrayReader}.
+     */
+    public static Object readPrimitiveArray(JsonParser p, DeserializationContext ctxt, JavaType type, BitSet excludeIndexes) throws IOException {
+        return PrimitiveArrayReader.forType(type).read(p, ctxt, excludeIndexes);
+    }
+
+    public static Object readExcluding(JsonParser p, DeserializationContext ctxt, JavaType type, Collection<String> excludeProperties) throws IOException {
+        JsonNode value = ctxt.readTree(p);
+        ((ObjectNode) value).remove(excludeProperties);
+        return ctxt.readTreeAsValue(value, type);
+    }
+
+    /**
+     * Captures the object the parser is on and returns a proxy of {@code type} that maps it with {@code reader} on first use.
+     */
+    public static Object lazy(JsonParser p, DeserializationContext ctxt, Class<?> type, ValueConverter reader) throws IOException {
+        return LazyValues.proxy(type, p, ctxt, reader);
+    }
+
+    /**
+     * Parser positioned on the value of a request header, {@code null} when it is missing, see {@link MappingHeaderSource}.
+     */
+    public static JsonParser header(String name, ObjectCodec codec) throws IOException {
+        return MappingHeaderSource.parser(name, codec);
+    }
+
+    /**
+     * Resolves the converter of a binding with its declared format, once, when the generated class is initialized.
+     */
+    public static ValueConverter converter(Class<?> type, String format) {
+        try {
+            return TemporalConverters.forType(type, format);
+        } catch (MappingException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Parses a default value literal of the mapping file, once, when the generated class is initialized.
+     */
+    public static JsonNode defaultValue(String json) {
+        try {
+            return ObjectMapperRegistry.getMapper().readTree(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
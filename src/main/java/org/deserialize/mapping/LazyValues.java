@@ -0,0 +1,108 @@
+package org.deserialize.mapping;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.target.AbstractLazyCreationTargetSource;
+
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Lazy mapping entries ({@code "lazy": true}): the source object is captured as tokens while the document is parsed
+ * and the target gets a class proxy of the nested type, which maps the captured tokens the first time one of its
+ * methods is called. Untouched subtrees are never built.
+ * <p>
+ * The proxy must not keep the request alive: the tokens are copied into a buffer detached from the request parser,
+ * and the value is mapped with a new context created without parser, sharing only the configuration and
+ * deserializer cache of the request one. Buffer and context are released once the value is mapped.
+ */
+final class LazyValues {
+
+    private LazyValues() {}
+
+    /**
+     * Checks at compile time that instances of the target class can be replaced by a class proxy.
+     */
+    static void checkProxyable(Class<?> type, String sourcePath) throws MappingException {
+        int modifiers = type.getModifiers();
+        if (type.isPrimitive() || type.isArray() || type.isInterface() || type.isEnum()
+                || Modifier.isFinal(modifiers) || Modifier.isAbstract(modifiers)
+                || Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type)
+                || type.getName().startsWith("java.")) {
+            throw new MappingException(String.format("Lazy entry '%s' needs a non final bean target, found %s", sourcePath, type.getName()));
+        }
+    }
+
+    /**
+     * Captures the object the parser is on, leaving the parser on its {@code END_OBJECT}, and returns the proxy that
+     * maps it with {@code reader} on first use. Values are mapped right away when the context cannot be recreated.
+     */
+    static Object proxy(Class<?> type, JsonParser p, DeserializationContext ctxt, ValueConverter reader) throws IOException {
+        if (!(ctxt instanceof DefaultDeserializationContext)) {
+            return reader.convert(p, ctxt);
+        }
+
+        TokenBuffer buffer = new TokenBuffer(p.getCodec(), false);
+        buffer.forceUseOfBigDecimal(ctxt.isEnabled(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS));
+        buffer.copyCurrentStructure(p);
+        DefaultDeserializationContext contextFactory = ((DefaultDeserializationContext) ctxt).createInstance(ctxt.getConfig(), null, null);
+
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.setOpaque(true);
+        proxyFactory.setTargetSource(new LazyTargetSource(type, buffer, p.getCodec(), contextFactory, reader));
+
+        return proxyFactory.getProxy(type.getClassLoader());
+    }
+
+    /**
+     * {@link #createObject()} runs under the lock of {@link AbstractLazyCreationTargetSource#getTarget()}, until it
+     * succeeds once.
+     */
+    private static final class LazyTargetSource extends AbstractLazyCreationTargetSource {
+
+        private final Class<?> type;
+        private final ObjectCodec codec;
+        private final ValueConverter reader;
+        private TokenBuffer buffer;
+        private DefaultDeserializationContext contextFactory;
+
+        private LazyTargetSource(Class<?> type, TokenBuffer buffer, ObjectCodec codec, DefaultDeserializationContext contextFactory,
+                                 ValueConverter reader) {
+            this.type = type;
+            this.buffer = buffer;
+            this.codec = codec;
+            this.contextFactory = contextFactory;
+            this.reader = reader;
+        }
+
+        @Override
+        public Class<?> getTargetClass() {
+            return type;
+        }
+
+        @Override
+        protected Object createObject() throws Exception {
+            try (JsonParser lazyParser = buffer.asParser(codec)) {
+                lazyParser.nextToken();
+                DeserializationConfig config = contextFactory.getConfig();
+                Object value = reader.convert(lazyParser, contextFactory.createInstance(config, lazyParser, null));
+                if (value == null) {
+                    throw new MappingException(String.format("Lazy value of %s mapped to null", type.getName()));
+                }
+
+                buffer = null;
+                contextFactory = null;
+                return value;
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package org.deserialize.mapping;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Parser enforcing the {@code max-*} limits of a mapping resource on the document being mapped, token by token,
+ * so that an oversized or hostile payload is rejected after a bounded amount of work instead of once it is fully
+ * read. Every consumer of the document (the executor, the generated deserializers, the tree reader and the Jackson
+ * deserializers of the unmapped values) reads through it, skipped values included.
+ * <p>
+ * Depth and array lengths are relative to the mapped object and tracked with a counter stack. The executor only
+ * recurses along the mapping file, but the Jackson deserializers of nested values (e.g. an {@code InnerTest.inner}
+ * chain) and the tree reader recurse along the payload: the maximum depth is what keeps a hostile, deeply nested
+ * document from overflowing the stack, so it defaults to {@value MappingKeys#DEFAULT_MAX_DEPTH}. String lengths can
+ * only be checked once the parser has read the string.
+ * <p>
+ * With only the depth limit, the default, a token costs no more than a comparison; a resource with
+ * {@code max-depth=0} and no other limit keeps the plain parser.
+ */
+final class LimitedParser extends JsonParserDelegate {
+
+    private static final int INITIAL_LEVELS = 16;
+
+    private final String resourceName;
+    private final int maxDepth;
+    private final int maxArrayLength;
+    private final int maxStringLength;
+    private final long maxTokens;
+    private final boolean depthOnly;
+
+    private long tokens;
+    private int depth;
+    // element count of every open array, -1 for the open objects
+    private int[] elements = new int[INITIAL_LEVELS];
+
+    private LimitedParser(JsonParser p, MappingResourceProperties properties) {
+        super(p);
+        this.resourceName = properties.getName();
+        this.maxDepth = properties.getMaxDepth();
+        this.maxArrayLength = properties.getMaxArrayLength();
+        this.maxStringLength = properties.getMaxStringLength();
+        this.maxTokens = properties.getMaxTokens();
+        this.depthOnly = maxArrayLength <= 0 && maxStringLength <= 0 && maxTokens <= 0;
+    }
+
+    /**
+     * @return a parser enforcing the limits of the resource on the value {@code p} is positioned on, {@code p}
+     * itself when the resource has no limits
+     */
+    static JsonParser wrap(JsonParser p, MappingResourceProperties properties) throws IOException {
+        if (properties.getMaxDepth() <= 0 && properties.getMaxArrayLength() <= 0
+                && properties.getMaxStringLength() <= 0 && properties.getMaxTokens() <= 0) {
+            return p;
+        }
+
+        LimitedParser limitedParser = new LimitedParser(p, properties);
+        if (p.currentToken() != null) {
+            limitedParser.check(p.currentToken());
+        }
+        return limitedParser;
+    }
+
+    @Override
+    public JsonToken nextToken() throws IOException {
+        JsonToken token = delegate.nextToken();
+        if (token != null) {
+            check(token);
+        }
+        return token;
+    }
+
+    @Override
+    public JsonToken nextValue() throws IOException {
+        JsonToken token = nextToken();
+        return token == JsonToken.FIELD_NAME ? nextToken() : token;
+    }
+
+    /**
+     * Skips token by token, the skipped values count against the limits too.
+     */
+    @Override
+    public JsonParser skipChildren() throws IOException {
+        JsonToken token = currentToken();
+        if (token != JsonToken.START_OBJECT && token != JsonToken.START_ARRAY) {
+            return this;
+        }
+
+        int open = 1;
+        while (open > 0) {
+            token = nextToken();
+            if (token == null) {
+                return this;
+            }
+            if (token.isStructStart()) {
+                open++;
+            } else if (token.isStructEnd()) {
+                open--;
+            }
+        }
+        return this;
+    }
+
+    private void check(JsonToken token) throws IOException {
+        if (depthOnly) {
+            if (token.isStructStart()) {
+                if (depth >= maxDepth) {
+                    throw limitExceeded("more than %d nested levels", maxDepth);
+                }
+                depth++;
+            } else if (token.isStructEnd() && depth > 0) {
+                depth--;
+            }
+            return;
+        }
+
+        if (maxTokens > 0 && ++tokens > maxTokens) {
+            throw limitExceeded("more than %d tokens", maxTokens);
+        }
+
+        switch (token) {
+            case FIELD_NAME:
+                checkLength(delegate.getTextLength(), "field name");
+                return;
+            case END_OBJECT:
+            case END_ARRAY:
+                if (depth > 0) {
+                    depth--;
+                }
+                return;
+            case VALUE_STRING:
+                checkLength(delegate.getTextLength(), "string");
+                break;
+            default:
+                break;
+        }
+
+        if (depth > 0 && elements[depth - 1] >= 0 && maxArrayLength > 0 && ++elements[depth - 1] > maxArrayLength) {
+            throw limitExceeded("an array longer than %d elements", maxArrayLength);
+        }
+
+        if (token.isStructStart()) {
+            if (maxDepth > 0 && depth >= maxDepth) {
+                throw limitExceeded("more than %d nested levels", maxDepth);
+            }
+            if (depth == elements.length) {
+                elements = Arrays.copyOf(elements, depth * 2);
+            }
+            elements[depth++] = token == JsonToken.START_ARRAY ? 0 : -1;
+        }
+    }
+
+    private void checkLength(int length, String what) throws MappingException {
+        if (maxStringLength > 0 && length > maxStringLength) {
+            throw limitExceeded("a " + what + " longer than %d characters", maxStringLength);
+        }
+    }
+
+    private MappingException limitExceeded(String limit, long value) {
+        return new MappingException(delegate, String.format("Payload of resource '%s' exceeds its limits: " + limit, resourceName, value));
+    }
+}
@@ -0,0 +1,148 @@
+package org.deserialize.mapping;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PushbackInputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads a stream of documents of a mapped type one at a time, so that only the current document is held in memory.
+ * <p>
+ * The stream is either a json array of documents or newline delimited json (one document per line). Every document
+ * is deserialized on its own: a document that fails to map, or an ndjson line that is not valid json, is reported to
+ * the {@link Listener} and reading goes on with the next one. A syntax error inside a json array cannot be
+ * resynchronized and ends the read with an exception. An ndjson line longer than the maximum document length is
+ * reported as an error without being held in memory.
+ *
+ * @param <T> the mapped document type
+ */
+public final class MappingBulkReader<T> {
+
+    static final int DEFAULT_MAX_DOCUMENT_LENGTH = 16 * 1024 * 1024;
+
+    private final ObjectReader reader;
+    private final int maxDocumentLength;
+
+    public MappingBulkReader(ObjectMapper mapper, Class<T> type) {
+        this(mapper, type, DEFAULT_MAX_DOCUMENT_LENGTH);
+    }
+
+    /**
+     * @param maxDocumentLength maximum number of characters of an ndjson line
+     */
+    public MappingBulkReader(ObjectMapper mapper, Class<T> type, int maxDocumentLength) {
+        this.reader = mapper.readerFor(type);
+        this.maxDocumentLength = maxDocumentLength;
+    }
+
+    /**
+     * @return the number of documents read, mapped or not
+     */
+    public long read(InputStream inputStream, Listener<T> listener) throws IOException {
+        PushbackInputStream source = new PushbackInputStream(inputStream, 1);
+        int first = source.read();
+        while (first != -1 && Character.isWhitespace(first)) {
+            first = source.read();
+        }
+
+        if (first == -1) {
+            return 0;
+        }
+
+        source.unread(first);
+        return first == '[' ? readArray(source, listener) : readLines(source, listener);
+    }
+
+    private long readArray(InputStream inputStream, Listener<T> listener) throws IOException {
+        long index = 0;
+        try (JsonParser p = reader.createParser(inputStream)) {
+            p.nextToken();
+            for (JsonToken token = p.nextToken(); token != JsonToken.END_ARRAY; token = p.nextToken(), index++) {
+                if (token == null) {
+                    throw new MappingException("Unexpected end of input in the document array");
+                }
+
+                TokenBuffer document = new TokenBuffer(p);
+                document.copyCurrentStructure(p);
+                map(document.asParser(reader), index, listener);
+            }
+        }
+
+        return index;
+    }
+
+    private long readLines(InputStream inputStream, Listener<T> listener) throws IOException {
+        long index = 0;
+        BufferedReader lines = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        StringBuilder line = new StringBuilder();
+        while (readLine(lines, line)) {
+            if (line.length() > maxDocumentLength) {
+                listener.onError(index++, new MappingException("Document longer than " + maxDocumentLength + " characters"));
+                continue;
+            }
+
+            String document = line.toString();
+            if (!document.isBlank()) {
+                map(reader.createParser(document), index++, listener);
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * Reads the next line without its terminator, keeping at most one character past the maximum document length.
+     *
+     * @return {@code false} at the end of the stream
+     */
+    private boolean readLine(Reader lines, StringBuilder line) throws IOException {
+        line.setLength(0);
+        int c = lines.read();
+        if (c == -1) {
+            return false;
+        }
+
+        for (; c != -1 && c != '\n'; c = lines.read()) {
+            if (line.length() <= maxDocumentLength) {
+                line.append((char) c);
+            }
+        }
+
+        if (line.length() > 0 && line.charAt(line.length() - 1) == '\r') {
+            line.setLength(line.length() - 1);
+        }
+        return true;
+    }
+
+    private void map(JsonParser documentParser, long index, Listener<T> listener) throws IOException {
+        T document;
+        try (documentParser) {
+            document = reader.readValue(documentParser);
+        } catch (JsonProcessingException | RuntimeException e) {
+            listener.onError(index, e);
+            return;
+        }
+
+        listener.onDocument(index, document);
+    }
+
+    /**
+     * Receives the documents in stream order; exceptions thrown here stop the read.
+     */
+    public interface Listener<T> {
+
+        void onDocument(long index, T document) throws IOException;
+
+        void onError(long index, Exception error) throws IOException;
+    }
+}
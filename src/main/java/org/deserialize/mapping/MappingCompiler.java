@@ -0,0 +1,191 @@
+package org.deserialize.mapping;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Turns the JSON definition of a mapping resource into a {@link MappingPlan}.
+ * <p>
+ * Keys are source paths (dotted or nested), values are either a target property path or an entry object
+ * carrying {@code property}/{@code mappedProperty} and its options. Nested objects without a target property
+ * are source groups.
+ */
+final class MappingCompiler {
+
+    private final MappingResourceProperties properties;
+
+    MappingCompiler(MappingResourceProperties properties) {
+        this.properties = properties;
+    }
+
+    MappingPlan compile(Class<?> targetClass, JsonNode mapping) throws MappingException {
+        SourceNode.Builder root = new SourceNode.Builder(null);
+        List<TargetBinding> completionBindings = new ArrayList<>();
+        List<TargetBinding> headerBindings = new ArrayList<>();
+        Set<String> mappedRootProperties = new HashSet<>();
+
+        if (mapping != null && !mapping.isNull()) {
+            if (!mapping.isObject()) {
+                throw new MappingException(String.format("Mapping of %s must be a json object", targetClass.getName()));
+            }
+            compileGroup(targetClass, mapping, root, completionBindings, headerBindings, mappedRootProperties);
+        }
+
+        return new MappingPlan(targetClass,
+                root.build(),
+                compileUnmappedBindings(targetClass, mappedRootProperties),
+                completionBindings.toArray(TargetBinding[]::new),
+                headerBindings.toArray(TargetBinding[]::new),
+                properties.isIgnoreUnknownProperties());
+    }
+
+    private void compileGroup(Class<?> targetClass, JsonNode group, SourceNode.Builder parent,
+                              List<TargetBinding> completionBindings, List<TargetBinding> headerBindings,
+                              Set<String> mappedRootProperties) throws MappingException {
+        Iterator<Map.Entry<String, JsonNode>> fields = group.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode value = field.getValue();
+
+            String position = isEntry(value) ? value.path(MappingKeys.ENTRY_POSITION).asText(MappingKeys.POSITION_BODY) : MappingKeys.POSITION_BODY;
+            if (!MappingKeys.POSITION_BODY.equalsIgnoreCase(position)) {
+                // values outside the body are not part of the source document: headers are bound by name
+                // from the current request when the object is mapped, other positions are left to the caller
+                if (MappingKeys.POSITION_HEADER.equalsIgnoreCase(position)) {
+                    TargetBinding binding = compileEntry(targetClass, field.getKey(), value, completionBindings.size());
+                    headerBindings.add(binding);
+                    mappedRootProperties.add(binding.getTarget().getRootProperty());
+                    if (binding.getCompletionIndex() >= 0) {
+                        completionBindings.add(binding);
+                    }
+                }
+                continue;
+            }
+
+            SourceNode.Builder node = parent;
+            for (String segment : field.getKey().split("\\.")) {
+                node = node.child(segment);
+            }
+
+            if (value.isTextual()) {
+                PropertyChain target = PropertyChain.resolve(targetClass, value.asText());
+                node.bind(TargetBinding.direct(node.getPath(), target));
+                mappedRootProperties.add(target.getRootProperty());
+            } else if (isEntry(value)) {
+                TargetBinding binding = compileEntry(targetClass, node.getPath(), value, completionBindings.size());
+                node.bind(binding);
+                mappedRootProperties.add(binding.getTarget().getRootProperty());
+                if (binding.getCompletionIndex() >= 0) {
+                    completionBindings.add(binding);
+                }
+            } else if (value.isObject()) {
+                compileGroup(targetClass, value, node, completionBindings, headerBindings, mappedRootProperties);
+            } else {
+                throw new MappingException(String.format("Invalid mapping for source '%s' on %s", node.getPath(), targetClass.getName()));
+            }
+        }
+    }
+
+    private TargetBinding compileEntry(Class<?> targetClass, String sourcePath, JsonNode entry, int completionIndex) throws MappingException {
+        String targetPath = entry.has(MappingKeys.ENTRY_PROPERTY)
+                ? entry.get(MappingKeys.ENTRY_PROPERTY).asText()
+                : entry.get(MappingKeys.ENTRY_MAPPED_PROPERTY).asText();
+        PropertyChain target = PropertyChain.resolve(targetClass, targetPath);
+
+        JavaType valueType = target.getType().isContainerType() && !target.getType().isMapLikeType()
+                ? target.getType().getContentType()
+                : target.getType();
+
+        MappingPlan valuePlan = compileNested(valueType, entry.get(MappingKeys.ENTRY_MAPPING));
+
+        Map<Integer, MappingPlan> indexPlans = new HashMap<>();
+        JsonNode indexMapping = entry.get(MappingKeys.ENTRY_INDEX_MAPPING);
+        if (indexMapping != null && indexMapping.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> indexes = indexMapping.fields();
+            while (indexes.hasNext()) {
+                Map.Entry<String, JsonNode> index = indexes.next();
+                int position;
+                try {
+                    position = Integer.parseInt(index.getKey());
+                } catch (NumberFormatException e) {
+                    position = -1;
+                }
+                if (position < 0) {
+                    throw new MappingException(String.format("Invalid index '%s' in indexMapping of '%s'", index.getKey(), sourcePath));
+                }
+                // an empty index mapping converts the element as is
+                indexPlans.put(position, compileNested(valueType, index.getValue()));
+            }
+        }
+
+        Set<Integer> excludeIndexes = new HashSet<>();
+        for (JsonNode index : entry.path(MappingKeys.ENTRY_EXCLUDE_INDEXES)) {
+            if (!index.canConvertToInt() || index.asInt() < 0) {
+                throw new MappingException(String.format("Invalid index '%s' in excludeIndexes of '%s'", index.asText(), sourcePath));
+            }
+            excludeIndexes.add(index.asInt());
+        }
+
+        Set<String> excludeProperties = new HashSet<>();
+        for (JsonNode property : entry.path(MappingKeys.ENTRY_EXCLUDE_PROPERTIES)) {
+            excludeProperties.add(property.asText());
+        }
+
+        JsonNode defaultValue = entry.get(MappingKeys.ENTRY_DEFAULT_VALUE);
+        JsonNode format = entry.get(MappingKeys.ENTRY_FORMAT);
+
+        boolean lazy = entry.path(MappingKeys.ENTRY_LAZY).asBoolean(false);
+        if (lazy) {
+            LazyValues.checkProxyable(target.getType().getRawClass(), sourcePath);
+        }
+
+        return new TargetBinding(sourcePath,
+                target,
+                valuePlan,
+                indexPlans.isEmpty() ? Map.of() : Collections.unmodifiableMap(indexPlans),
+                excludeIndexes.isEmpty() ? Set.of() : Collections.unmodifiableSet(excludeIndexes),
+                excludeProperties.isEmpty() ? Set.of() : Collections.unmodifiableSet(excludeProperties),
+                entry.path(MappingKeys.ENTRY_REQUIRED).asBoolean(false),
+                defaultValue == null || defaultValue.isNull() ? null : defaultValue,
+                format == null || format.isNull() ? null : format.asText(),
+                lazy,
+                completionIndex);
+    }
+
+    private MappingPlan compileNested(JavaType valueType, JsonNode mapping) throws MappingException {
+        if (mapping == null || !mapping.isObject() || mapping.isEmpty()) {
+            return null;
+        }
+
+        return MappingRegistry.getNestedPlan(valueType.getRawClass(), mapping, properties, this);
+    }
+
+    private Map<String, TargetBinding> compileUnmappedBindings(Class<?> targetClass, Set<String> mappedRootProperties) throws MappingException {
+        if (properties.isIgnoreUnmappedProperties()) {
+            return Map.of();
+        }
+
+        Map<String, TargetBinding> unmappedBindings = new LinkedHashMap<>();
+        for (PropertyAccessor accessor : PropertyAccessor.forClass(targetClass).values()) {
+            if (!mappedRootProperties.contains(accessor.getName())) {
+                unmappedBindings.put(accessor.getName(), TargetBinding.direct(accessor.getName(), PropertyChain.of(accessor)));
+            }
+        }
+
+        return Collections.unmodifiableMap(unmappedBindings);
+    }
+
+    private static boolean isEntry(JsonNode value) {
+        return value.isObject() && (value.has(MappingKeys.ENTRY_PROPERTY) || value.has(MappingKeys.ENTRY_MAPPED_PROPERTY));
+    }
+}
@@ -0,0 +1,27 @@
+package org.deserialize.mapping;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonMappingException;
+
+/**
+ * Raised both when a mapping resource cannot be compiled and when an incoming payload
+ * does not satisfy the compiled mapping. Extends {@link JsonMappingException} so the web
+ * layer reports it like any other unreadable body.
+ */
+public class MappingException extends JsonMappingException {
+
+    public MappingException(String message) {
+        super(null, message);
+    }
+
+    /**
+     * For payload errors, reported with the location of the parser.
+     */
+    public MappingException(JsonParser p, String message) {
+        super(p, message);
+    }
+
+    public MappingException(String message, Throwable cause) {
+        super(null, message, cause);
+    }
+}
@@ -0,0 +1,304 @@
+package org.deserialize.mapping;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Executes a {@link MappingPlan} over the tokens of a {@link JsonParser}, routing every field to its
+ * target as soon as it is read. Only values feeding more than one binding are buffered.
+ */
+final class MappingExecutor {
+
+    private final DeserializationContext ctxt;
+    private final int parallelThreshold;
+    private final MappingStats stats;
+
+    MappingExecutor(DeserializationContext ctxt) {
+        this(ctxt, 0, new MappingStats());
+    }
+
+    /**
+     * @param parallelThreshold number of mapped object elements of a source array from which the elements are mapped
+     *                          in parallel by {@link ParallelElementMapper}, {@code 0} to always map sequentially
+     * @param stats             receives the field counters of the documents mapped by this executor
+     */
+    MappingExecutor(DeserializationContext ctxt, int parallelThreshold, MappingStats stats) {
+        this.ctxt = ctxt;
+        this.parallelThreshold = parallelThreshold;
+        this.stats = stats;
+    }
+
+    /**
+     * Maps the object the parser is positioned on ({@code START_OBJECT} or its first {@code FIELD_NAME}),
+     * leaving the parser on the closing {@code END_OBJECT}.
+     */
+    Object execute(MappingPlan plan, JsonParser p) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == null) {
+            token = p.nextToken();
+        }
+
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+
+        if (token == JsonToken.START_OBJECT) {
+            p.nextToken();
+        } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+            throw new MappingException(String.format("Expected a json object for %s, found %s", plan.getTargetClass().getName(), token));
+        }
+
+        Object target = plan.newInstance();
+        long[] applied = CompletionBits.forSize(plan.getCompletionBindings().length);
+
+        for (TargetBinding binding : plan.getHeaderBindings()) {
+            try (JsonParser headerParser = MappingHeaderSource.parser(binding.getSourcePath(), p.getCodec())) {
+                if (headerParser != null) {
+                    bind(binding, headerParser, target, applied);
+                }
+            }
+        }
+
+        walk(plan, plan.getRoot(), p, target, applied);
+        complete(plan, target, applied);
+
+        return target;
+    }
+
+    /**
+     * Reads the source object the parser is on as a tree, for {@link MappingMode#TREE}. With
+     * {@code ignore-unknown-properties} the fields the plan does not know are skipped at token level and never
+     * become nodes; otherwise they are kept, to be reported while mapping.
+     */
+    JsonNode readSourceTree(MappingPlan plan, JsonParser p) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == null) {
+            token = p.nextToken();
+        }
+
+        if (!plan.isIgnoreUnknownProperties() || token != JsonToken.START_OBJECT) {
+            return ctxt.readTree(p);
+        }
+
+        return readSourceObject(plan, plan.getRoot(), p);
+    }
+
+    private ObjectNode readSourceObject(MappingPlan plan, SourceNode node, JsonParser p) throws IOException {
+        ObjectNode object = ctxt.getNodeFactory().objectNode();
+        for (JsonToken token = p.nextToken(); token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+            String fieldName = p.getCurrentName();
+            JsonToken valueToken = p.nextToken();
+
+            SourceNode child = node.getChild(fieldName);
+            if (child == null) {
+                if (node == plan.getRoot() && plan.getUnmappedBinding(fieldName) != null) {
+                    object.set(fieldName, ctxt.readTree(p));
+                } else {
+                    stats.unknown();
+                    p.skipChildren();
+                }
+            } else if (valueToken == JsonToken.START_OBJECT && child.getBindings().length == 0 && child.hasChildren()) {
+                object.set(fieldName, readSourceObject(plan, child, p));
+            } else {
+                object.set(fieldName, ctxt.readTree(p));
+            }
+        }
+
+        return object;
+    }
+
+    private void walk(MappingPlan plan, SourceNode node, JsonParser p, Object target, long[] applied) throws IOException {
+        for (JsonToken token = p.currentToken(); token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+            String fieldName = p.getCurrentName();
+            JsonToken valueToken = p.nextToken();
+
+            SourceNode child = node.getChild(fieldName);
+            if (child == null) {
+                TargetBinding unmappedBinding = node == plan.getRoot() ? plan.getUnmappedBinding(fieldName) : null;
+                if (unmappedBinding != null) {
+                    unmappedBinding.getTarget().set(target, read(unmappedBinding, p));
+                    stats.mapped();
+                    continue;
+                }
+
+                stats.unknown();
+                if (plan.isIgnoreUnknownProperties()) {
+                    p.skipChildren();
+                } else {
+                    throw new MappingException(String.format("Unknown property '%s' for %s",
+                            node.getPath() == null ? fieldName : node.getPath() + MappingKeys.PATH_SEPARATOR + fieldName,
+                            plan.getTargetClass().getName()));
+                }
+                continue;
+            }
+
+            TargetBinding[] bindings = child.getBindings();
+            boolean nested = valueToken == JsonToken.START_OBJECT && child.hasChildren();
+
+            if (bindings.length == 0) {
+                if (nested) {
+                    p.nextToken();
+                    walk(plan, child, p, target, applied);
+                    checkRequired(plan, child, applied);
+                } else {
+                    stats.skipped();
+                    p.skipChildren();
+                }
+            } else if (bindings.length == 1 && !nested) {
+                bind(bindings[0], p, target, applied);
+            } else {
+                // the same value feeds several targets: replay it from a buffer for each of them
+                TokenBuffer buffer = ctxt.bufferAsCopyOfValue(p);
+                for (TargetBinding binding : bindings) {
+                    try (JsonParser bufferParser = buffer.asParser(p.getCodec())) {
+                        bufferParser.nextToken();
+                        bind(binding, bufferParser, target, applied);
+                    }
+                }
+
+                if (nested) {
+                    try (JsonParser bufferParser = buffer.asParser(p.getCodec())) {
+                        bufferParser.nextToken();
+                        bufferParser.nextToken();
+                        walk(plan, child, bufferParser, target, applied);
+                    }
+                    checkRequired(plan, child, applied);
+                }
+            }
+        }
+    }
+
+    private void bind(TargetBinding binding, JsonParser p, Object target, long[] applied) throws IOException {
+        boolean present = p.currentToken() != JsonToken.VALUE_NULL;
+        binding.getTarget().set(target, read(binding, p));
+        stats.mapped();
+        if (present && binding.getCompletionIndex() >= 0) {
+            CompletionBits.set(applied, binding.getCompletionIndex());
+        }
+    }
+
+    /**
+     * Fails as soon as the object of a source group is consumed without one of the required values below it,
+     * instead of parsing the rest of the document first.
+     */
+    private static void checkRequired(MappingPlan plan, SourceNode node, long[] applied) throws MappingException {
+        long[] requiredMask = node.getRequiredMask();
+        if (requiredMask.length > 0) {
+            checkRequired(plan, requiredMask, applied);
+        }
+    }
+
+    private static void checkRequired(MappingPlan plan, long[] requiredMask, long[] applied) throws MappingException {
+        int missing = CompletionBits.firstMissing(applied, requiredMask);
+        if (missing >= 0) {
+            throw new MappingException(String.format("Missing required property '%s' for %s",
+                    plan.getCompletionBindings()[missing].getSourcePath(), plan.getTargetClass().getName()));
+        }
+    }
+
+    private void complete(MappingPlan plan, Object target, long[] applied) throws IOException {
+        checkRequired(plan, plan.getRequiredMask(), applied);
+
+        for (TargetBinding binding : plan.getDefaultBindings()) {
+            if (!CompletionBits.isSet(applied, binding.getCompletionIndex())) {
+                try (JsonParser defaultParser = binding.getDefaultValue().traverse()) {
+                    defaultParser.nextToken();
+                    binding.getTarget().set(target, read(binding, defaultParser));
+                }
+                stats.defaultApplied();
+            }
+        }
+    }
+
+    private Object read(TargetBinding binding, JsonParser p) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+
+        if (binding.isLazy() && token == JsonToken.START_OBJECT) {
+            return LazyValues.proxy(binding.getType().getRawClass(), p, ctxt,
+                    (lazyParser, lazyCtxt) -> new MappingExecutor(lazyCtxt).readValue(binding, lazyParser));
+        }
+
+        return readValue(binding, p);
+    }
+
+    private Object readValue(TargetBinding binding, JsonParser p) throws IOException {
+        JsonToken token = p.currentToken();
+
+        if (binding.getConverter() != null) {
+            return binding.getConverter().convert(p, ctxt);
+        }
+
+        if (binding.getPrimitiveArrayReader() != null) {
+            return binding.getPrimitiveArrayReader().read(p, ctxt, binding.getExcludedIndexes());
+        }
+
+        JavaType type = binding.getType();
+        if (binding.isElementMapped() && token == JsonToken.START_ARRAY && type.isContainerType()) {
+            return readElements(binding, p);
+        }
+
+        if (binding.getValuePlan() != null && token == JsonToken.START_OBJECT) {
+            return execute(binding.getValuePlan(), p);
+        }
+
+        if (!binding.getExcludeProperties().isEmpty() && token == JsonToken.START_OBJECT) {
+            JsonNode value = ctxt.readTree(p);
+            ((ObjectNode) value).remove(binding.getExcludeProperties());
+            return ctxt.readTreeAsValue(value, type);
+        }
+
+        return ctxt.readValue(p, type);
+    }
+
+    private Object readElements(TargetBinding binding, JsonParser p) throws IOException {
+        JavaType contentType = binding.getType().getContentType();
+        List<Object> elements = new ArrayList<>();
+        ParallelElementMapper parallelMapper = ParallelElementMapper.of(ctxt, p, parallelThreshold, stats);
+
+        int index = 0;
+        for (JsonToken token = p.nextToken(); token != JsonToken.END_ARRAY; token = p.nextToken(), index++) {
+            if (token == null) {
+                throw new MappingException(String.format("Unexpected end of input in '%s'", binding.getSourcePath()));
+            }
+
+            if (binding.getExcludedIndexes().get(index)) {
+                stats.skipped();
+                p.skipChildren();
+                continue;
+            }
+
+            MappingPlan elementPlan = binding.getElementPlan(index);
+
+            if (token == JsonToken.VALUE_NULL) {
+                elements.add(null);
+            } else if (elementPlan != null && token == JsonToken.START_OBJECT) {
+                if (parallelMapper != null) {
+                    parallelMapper.add(elements.size(), elementPlan, p);
+                    elements.add(null);
+                } else {
+                    elements.add(execute(elementPlan, p));
+                }
+            } else {
+                elements.add(ctxt.readValue(p, contentType));
+            }
+        }
+
+        if (parallelMapper != null) {
+            parallelMapper.mapInto(elements);
+        }
+
+        return Containers.toContainer(binding.getType(), elements);
+    }
+}
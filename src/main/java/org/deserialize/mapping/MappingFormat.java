@@ -0,0 +1,93 @@
+package org.deserialize.mapping;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.deserialize.utils.ObjectMapperRegistry;
+
+import java.util.Locale;
+
+/**
+ * Wire encoding of the documents of a mapping resource, selected with {@code abstract-deserialize.resource.<name>.format}
+ * or from the content type of the payload.
+ * <p>
+ * The mapping files describe the document structure only: binary encodings produce the same parser tokens as json
+ * text, so the same compiled plan (or generated deserializer) maps all of them.
+ */
+public enum MappingFormat {
+
+    JSON("application/json") {
+        @Override
+        JsonFactory createFactory() {
+            return new JsonFactory();
+        }
+    },
+
+    CBOR("application/cbor") {
+        @Override
+        JsonFactory createFactory() {
+            return new CBORFactory();
+        }
+    },
+
+    SMILE("application/x-jackson-smile") {
+        @Override
+        JsonFactory createFactory() {
+            return new SmileFactory();
+        }
+    };
+
+    private final String mediaType;
+
+    MappingFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    abstract JsonFactory createFactory();
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Mapper reading this encoding, created on first use and shared by every resource. Mapped types deserialize
+     * through their {@link AbstractCompiledMapping}, the mapper only provides the parser and the fallback
+     * deserializers of the unmapped values.
+     */
+    public ObjectMapper getMapper() {
+        return ObjectMapperRegistry.getMapper(MappingFormat.class.getName() + "." + name(), () -> new ObjectMapper(createFactory())
+                .findAndRegisterModules()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES));
+    }
+
+    static MappingFormat of(String value) {
+        for (MappingFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+
+        return JSON;
+    }
+
+    /**
+     * @param contentType a content type header value, parameters included
+     * @return the format of the content type, {@code null} when it is missing or not one of the supported encodings
+     */
+    public static MappingFormat forContentType(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+
+        String mediaType = contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+        for (MappingFormat format : values()) {
+            if (format.mediaType.equals(mediaType)) {
+                return format;
+            }
+        }
+
+        return mediaType.endsWith("+json") ? JSON : null;
+    }
+}
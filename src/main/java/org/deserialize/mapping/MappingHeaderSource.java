@@ -0,0 +1,70 @@
+package org.deserialize.mapping;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Static access to the headers of the request being deserialized, feeding the mapping entries declared with
+ * {@code "position": "header"}. Like {@link MappingPropertySource}, the resolver is registered once at startup,
+ * typically on top of the current request context; without one, header entries stay unset. Threads mapping on
+ * behalf of a request thread, which have no request context, read the headers {@link #bind(Map) bound} to them.
+ */
+public final class MappingHeaderSource {
+
+    private static volatile Function<String, String> resolver;
+    private static final ThreadLocal<Map<String, String>> boundHeaders = new ThreadLocal<>();
+
+    private MappingHeaderSource() {}
+
+    public static void setResolver(Function<String, String> resolver) {
+        MappingHeaderSource.resolver = resolver;
+    }
+
+    public static String getHeader(String name) {
+        Map<String, String> bound = boundHeaders.get();
+        if (bound != null) {
+            return bound.get(name);
+        }
+
+        Function<String, String> current = resolver;
+        return current == null ? null : current.apply(name);
+    }
+
+    /**
+     * Makes the calling thread read the given header values instead of the resolver.
+     *
+     * @return the headers previously bound to the thread, to restore with {@link #restore(Map)}
+     */
+    static Map<String, String> bind(Map<String, String> headers) {
+        Map<String, String> previous = boundHeaders.get();
+        boundHeaders.set(headers);
+        return previous;
+    }
+
+    static void restore(Map<String, String> previous) {
+        if (previous == null) {
+            boundHeaders.remove();
+        } else {
+            boundHeaders.set(previous);
+        }
+    }
+
+    /**
+     * @return a parser positioned on the header value as a json string, {@code null} when the header is missing
+     */
+    static JsonParser parser(String name, ObjectCodec codec) throws IOException {
+        String value = getHeader(name);
+        if (value == null) {
+            return null;
+        }
+
+        JsonParser p = JsonNodeFactory.instance.textNode(value).traverse(codec);
+        p.nextToken();
+        return p;
+    }
+}
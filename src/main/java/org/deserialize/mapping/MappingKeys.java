@@ -0,0 +1,44 @@
+package org.deserialize.mapping;
+
+public interface MappingKeys {
+
+    // application properties
+    String PROPERTY_PREFIX = "abstract-deserialize";
+    String RESOURCE_PREFIX = PROPERTY_PREFIX + ".resource.";
+    String GLOBAL_PATH = PROPERTY_PREFIX + ".path";
+    String PATH = "path";
+    String PREFIX = "prefix";
+    String IGNORE_UNKNOWN_PROPERTIES = "ignore-unknown-properties";
+    String IGNORE_UNMAPPED_PROPERTIES = "ignore-unmapped-properties";
+    String MODE = "mode";
+    String GENERATED = "generated";
+    String PARALLEL_THRESHOLD = "parallel-threshold";
+    String FORMAT = "format";
+    String METRICS = "metrics";
+    String MAX_DEPTH = "max-depth";
+    String MAX_ARRAY_LENGTH = "max-array-length";
+    String MAX_STRING_LENGTH = "max-string-length";
+    String MAX_TOKENS = "max-tokens";
+
+    String DEFAULT_PATH = "mapping";
+    String MAPPING_EXTENSION = ".json";
+    String GENERATED_SUFFIX = "Generated";
+    int DEFAULT_MAX_DEPTH = 1000;
+
+    // mapping entry keywords
+    String ENTRY_PROPERTY = "property";
+    String ENTRY_MAPPED_PROPERTY = "mappedProperty";
+    String ENTRY_MAPPING = "mapping";
+    String ENTRY_INDEX_MAPPING = "indexMapping";
+    String ENTRY_EXCLUDE_INDEXES = "excludeIndexes";
+    String ENTRY_EXCLUDE_PROPERTIES = "excludeProperties";
+    String ENTRY_REQUIRED = "required";
+    String ENTRY_DEFAULT_VALUE = "defaultValue";
+    String ENTRY_POSITION = "position";
+    String ENTRY_FORMAT = "format";
+    String ENTRY_LAZY = "lazy";
+
+    String POSITION_BODY = "body";
+    String POSITION_HEADER = "header";
+    String PATH_SEPARATOR = ".";
+}
@@ -0,0 +1,133 @@
+package org.deserialize.mapping;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer meters of one mapping deserializer, tagged with its class ({@code mapping}) and its
+ * {@code abstract-deserialize.resource.<name>} ({@code resource}).
+ * <p>
+ * Meters are registered on {@link Metrics#globalRegistry}, to which Spring Boot binds the application registry,
+ * so they are published on the actuator {@code metrics} and {@code prometheus} endpoints without any wiring:
+ * <ul>
+ *     <li>{@code abstract.deserialize.parse}: time spent mapping a document, tagged with its {@code outcome}</li>
+ *     <li>{@code abstract.deserialize.payload}: bytes of the mapped documents, when the parser reads a stream or text</li>
+ *     <li>{@code abstract.deserialize.fields}: source fields per document by {@code kind}, {@code mapped},
+ *     {@code unknown} or {@code skipped}; not available for generated deserializers</li>
+ *     <li>{@code abstract.deserialize.defaults}: {@code defaultValue} applications</li>
+ *     <li>{@code abstract.deserialize.failures}: failed documents by {@code exception}</li>
+ * </ul>
+ * Disabled with {@code abstract-deserialize.resource.<name>.metrics=false}.
+ */
+final class MappingMetrics {
+
+    static final String METER_PREFIX = "abstract.deserialize";
+    static final String PARSE = METER_PREFIX + ".parse";
+    static final String PAYLOAD = METER_PREFIX + ".payload";
+    static final String FIELDS = METER_PREFIX + ".fields";
+    static final String DEFAULTS = METER_PREFIX + ".defaults";
+    static final String FAILURES = METER_PREFIX + ".failures";
+
+    private final MeterRegistry registry;
+    private final Tags tags;
+    private final Timer success;
+    private final Timer failure;
+    private final DistributionSummary payload;
+    private final DistributionSummary mapped;
+    private final DistributionSummary unknown;
+    private final DistributionSummary skipped;
+    private final Counter defaults;
+
+    private MappingMetrics(MeterRegistry registry, Tags tags) {
+        this.registry = registry;
+        this.tags = tags;
+        this.success = parseTimer("success");
+        this.failure = parseTimer("failure");
+        this.payload = DistributionSummary.builder(PAYLOAD)
+                .description("Size of the mapped documents")
+                .baseUnit("bytes")
+                .tags(tags)
+                .register(registry);
+        this.mapped = fields("mapped");
+        this.unknown = fields("unknown");
+        this.skipped = fields("skipped");
+        this.defaults = Counter.builder(DEFAULTS)
+                .description("Missing values replaced by their defaultValue")
+                .tags(tags)
+                .register(registry);
+    }
+
+    /**
+     * @return the meters of the deserializer, {@code null} when metrics are disabled for its resource
+     */
+    static MappingMetrics of(Class<?> deserializerClass, MappingResourceProperties properties) {
+        if (!properties.isMetrics()) {
+            return null;
+        }
+
+        return new MappingMetrics(Metrics.globalRegistry, Tags.of("mapping", deserializerClass.getSimpleName(), "resource", properties.getName()));
+    }
+
+    /**
+     * @return the position of a parser location as a byte offset, or a char offset for text sources, {@code -1}
+     * when the source is not a stream (token buffers, trees)
+     */
+    static long offset(JsonLocation location) {
+        long byteOffset = location.getByteOffset();
+        return byteOffset >= 0 ? byteOffset : location.getCharOffset();
+    }
+
+    /**
+     * @param startOffset {@link #offset(JsonLocation) offset} of the first token of the document
+     * @param stats       field counters of the document, {@code null} when not collected
+     */
+    void recordSuccess(long nanos, long startOffset, long endOffset, MappingStats stats) {
+        success.record(nanos, TimeUnit.NANOSECONDS);
+        if (startOffset >= 0 && endOffset >= startOffset) {
+            payload.record(endOffset - startOffset);
+        }
+
+        if (stats != null) {
+            mapped.record(stats.getMapped());
+            unknown.record(stats.getUnknown());
+            skipped.record(stats.getSkipped());
+            if (stats.getDefaults() > 0) {
+                defaults.increment(stats.getDefaults());
+            }
+        }
+    }
+
+    void recordFailure(long nanos, Exception e) {
+        failure.record(nanos, TimeUnit.NANOSECONDS);
+        // registering an existing meter only looks it up
+        Counter.builder(FAILURES)
+                .description("Documents that failed to map")
+                .tags(tags)
+                .tag("exception", e.getClass().getSimpleName())
+                .register(registry)
+                .increment();
+    }
+
+    private Timer parseTimer(String outcome) {
+        return Timer.builder(PARSE)
+                .description("Time spent mapping a document")
+                .tags(tags)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private DistributionSummary fields(String kind) {
+        return DistributionSummary.builder(FIELDS)
+                .description("Source fields of the mapped documents")
+                .tags(tags)
+                .tag("kind", kind)
+                .register(registry);
+    }
+}
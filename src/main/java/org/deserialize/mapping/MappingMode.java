@@ -0,0 +1,28 @@
+package org.deserialize.mapping;
+
+/**
+ * How a mapping deserializer consumes the incoming document, selected with
+ * {@code abstract-deserialize.resource.<name>.mode}.
+ */
+public enum MappingMode {
+
+    /**
+     * The document is first read as a {@code JsonNode} tree, then mapped.
+     */
+    TREE,
+
+    /**
+     * Fields are routed to their targets directly from the parser tokens, without an intermediate tree.
+     */
+    STREAMING;
+
+    static MappingMode of(String value) {
+        for (MappingMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(value)) {
+                return mode;
+            }
+        }
+
+        return TREE;
+    }
+}
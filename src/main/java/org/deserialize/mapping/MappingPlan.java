@@ -0,0 +1,111 @@
+package org.deserialize.mapping;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Immutable execution plan of a mapping resource for one target class, produced by {@link MappingCompiler}.
+ */
+public final class MappingPlan {
+
+    private final Class<?> targetClass;
+    private final Supplier<Object> constructor;
+    private final SourceNode root;
+    private final Map<String, TargetBinding> unmappedBindings;
+    private final FieldTable<TargetBinding> unmappedTable;
+    private final TargetBinding[] completionBindings;
+    private final TargetBinding[] defaultBindings;
+    private final TargetBinding[] headerBindings;
+    private final long[] requiredMask;
+    private final boolean ignoreUnknownProperties;
+
+    MappingPlan(Class<?> targetClass, SourceNode root, Map<String, TargetBinding> unmappedBindings,
+                TargetBinding[] completionBindings, TargetBinding[] headerBindings, boolean ignoreUnknownProperties) throws MappingException {
+        this.targetClass = targetClass;
+        this.constructor = AccessorFactory.constructor(targetClass);
+        if (constructor == null) {
+            throw new MappingException(String.format("Mapping target %s needs a default constructor", targetClass.getName()));
+        }
+        this.root = root;
+        this.unmappedBindings = unmappedBindings;
+        this.unmappedTable = FieldTable.of(unmappedBindings);
+        this.completionBindings = completionBindings;
+        this.defaultBindings = Arrays.stream(completionBindings).filter(binding -> binding.getDefaultValue() != null).toArray(TargetBinding[]::new);
+        this.headerBindings = headerBindings;
+        this.requiredMask = requiredMask(root, headerBindings);
+        this.ignoreUnknownProperties = ignoreUnknownProperties;
+    }
+
+    public Class<?> getTargetClass() {
+        return targetClass;
+    }
+
+    SourceNode getRoot() {
+        return root;
+    }
+
+    /**
+     * Target properties bound by name when the source field has no mapping entry.
+     */
+    TargetBinding getUnmappedBinding(String fieldName) {
+        return unmappedTable.get(fieldName);
+    }
+
+    Map<String, TargetBinding> getUnmappedBindings() {
+        return unmappedBindings;
+    }
+
+    /**
+     * Bindings that are required or carry a default value, checked once the source object is consumed, in
+     * {@link TargetBinding#getCompletionIndex() completion index} order.
+     */
+    TargetBinding[] getCompletionBindings() {
+        return completionBindings;
+    }
+
+    /**
+     * Completion bindings carrying a default value, applied when their source value is missing.
+     */
+    TargetBinding[] getDefaultBindings() {
+        return defaultBindings;
+    }
+
+    /**
+     * Bindings of the {@code "position": "header"} entries, fed by {@link MappingHeaderSource} while the object is mapped.
+     */
+    TargetBinding[] getHeaderBindings() {
+        return headerBindings;
+    }
+
+    /**
+     * {@link CompletionBits} of the required bindings without default value of the whole plan, headers included.
+     */
+    long[] getRequiredMask() {
+        return requiredMask;
+    }
+
+    boolean isIgnoreUnknownProperties() {
+        return ignoreUnknownProperties;
+    }
+
+    private static long[] requiredMask(SourceNode root, TargetBinding[] headerBindings) {
+        BitSet required = BitSet.valueOf(root.getRequiredMask());
+        for (TargetBinding binding : headerBindings) {
+            if (binding.isRequired() && binding.getDefaultValue() == null) {
+                required.set(binding.getCompletionIndex());
+            }
+        }
+
+        return required.isEmpty() ? CompletionBits.EMPTY : required.toLongArray();
+    }
+
+    Object newInstance() throws MappingException {
+        try {
+            return constructor.get();
+        } catch (RuntimeException e) {
+            throw new MappingException(String.format("Unable to instantiate %s", targetClass.getName()), e);
+        }
+    }
+}
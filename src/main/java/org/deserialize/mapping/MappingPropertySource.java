@@ -0,0 +1,70 @@
+package org.deserialize.mapping;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+import java.util.function.Function;
+
+/**
+ * Static access to the {@code abstract-deserialize.*} properties. Mapping deserializers are also
+ * instantiated by Jackson outside the Spring context, so the resolver is registered once at startup
+ * and falls back to the classpath {@code application.properties} until then.
+ * <p>
+ * Setting a resolver drops the plans of the {@link MappingRegistry}, which may have been compiled from the
+ * fallback properties: deserializers created from then on compile their mapping with the new values.
+ */
+public final class MappingPropertySource {
+
+    private static final String DEFAULT_PROPERTIES = "application.properties";
+
+    private static volatile Function<String, String> resolver;
+
+    private MappingPropertySource() {}
+
+    public static void setResolver(Function<String, String> resolver) {
+        MappingPropertySource.resolver = resolver;
+        MappingRegistry.clear();
+    }
+
+    public static String getProperty(String key) {
+        Function<String, String> current = resolver;
+        if (current == null) {
+            current = resolver = loadClasspathProperties();
+        }
+
+        return current.apply(key);
+    }
+
+    public static String getProperty(String key, String defaultValue) {
+        String value = getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : Boolean.parseBoolean(value.trim());
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        String value = getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    public static long getLong(String key, long defaultValue) {
+        String value = getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : Long.parseLong(value.trim());
+    }
+
+    private static Function<String, String> loadClasspathProperties() {
+        Properties properties = new Properties();
+        try (InputStream inputStream = MappingPropertySource.class.getClassLoader().getResourceAsStream(DEFAULT_PROPERTIES)) {
+            if (inputStream != null) {
+                properties.load(inputStream);
+            }
+        } catch (IOException e) {
+            // no properties available: every lookup falls back to its default
+        }
+
+        return properties::getProperty;
+    }
+}
@@ -0,0 +1,201 @@
+package org.deserialize.mapping;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.deserialize.utils.ObjectMapperRegistry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process wide cache of the compiled mappings.
+ * <p>
+ * Mapping deserializers are created both as Spring beans and by Jackson, so the same resource used to be read and
+ * compiled once per instance. The registry parses every mapping file once, compiles one {@link MappingPlan} per
+ * (target class, resource, location) and shares identical nested mappings, e.g. the same {@code mapping} block
+ * repeated for several properties of the same type, across all the plans.
+ */
+public final class MappingRegistry {
+
+    private static final Map<String, JsonNode> DOCUMENTS = new ConcurrentHashMap<>();
+    private static final Map<PlanKey, MappingPlan> PLANS = new ConcurrentHashMap<>();
+    private static final Map<NestedPlanKey, MappingPlan> NESTED_PLANS = new ConcurrentHashMap<>();
+    private static final Map<MappingPlan, ShapeWriter> SHAPE_WRITERS = new ConcurrentHashMap<>();
+
+    private MappingRegistry() {}
+
+    /**
+     * @param targetClass     the mapped target type
+     * @param properties      properties of the mapping resource
+     * @param mappingLocation classpath location of the mapping file, defaults to {@link MappingResourceProperties#getMappingLocation()}
+     */
+    public static MappingPlan getPlan(Class<?> targetClass, MappingResourceProperties properties, String mappingLocation) throws IOException {
+        String location = mappingLocation != null ? mappingLocation : properties.getMappingLocation();
+        PlanKey key = new PlanKey(targetClass, properties, location);
+
+        MappingPlan plan = PLANS.get(key);
+        if (plan == null) {
+            plan = new MappingCompiler(properties).compile(targetClass, getDocument(location));
+            MappingPlan existing = PLANS.putIfAbsent(key, plan);
+            if (existing != null) {
+                plan = existing;
+            }
+        }
+
+        return plan;
+    }
+
+    /**
+     * Drops every cached document and plan, mappings are read again on the next lookup.
+     */
+    public static void clear() {
+        PLANS.clear();
+        NESTED_PLANS.clear();
+        SHAPE_WRITERS.clear();
+        DOCUMENTS.clear();
+    }
+
+    /**
+     * Returns the shared plan of a nested mapping, compiling it with the given compiler the first time.
+     */
+    static MappingPlan getNestedPlan(Class<?> targetClass, JsonNode mapping, MappingResourceProperties properties,
+                                     MappingCompiler compiler) throws MappingException {
+        NestedPlanKey key = new NestedPlanKey(targetClass, mapping, properties.isIgnoreUnknownProperties(), properties.isIgnoreUnmappedProperties());
+
+        MappingPlan plan = NESTED_PLANS.get(key);
+        if (plan == null) {
+            plan = compiler.compile(targetClass, mapping);
+            MappingPlan existing = NESTED_PLANS.putIfAbsent(key, plan);
+            if (existing != null) {
+                plan = existing;
+            }
+        }
+
+        return plan;
+    }
+
+    /**
+     * Returns the writer of the external shape of a plan, compiled once per plan.
+     */
+    static ShapeWriter getShapeWriter(MappingPlan plan) throws MappingException {
+        ShapeWriter writer = SHAPE_WRITERS.get(plan);
+        if (writer == null) {
+            writer = ShapeWriter.compile(plan);
+            ShapeWriter existing = SHAPE_WRITERS.putIfAbsent(plan, writer);
+            if (existing != null) {
+                writer = existing;
+            }
+        }
+
+        return writer;
+    }
+
+    private static JsonNode getDocument(String location) throws IOException {
+        JsonNode document = DOCUMENTS.get(location);
+        if (document == null) {
+            document = readMapping(location);
+            JsonNode existing = DOCUMENTS.putIfAbsent(location, document);
+            if (existing != null) {
+                document = existing;
+            }
+        }
+
+        return document;
+    }
+
+    private static JsonNode readMapping(String location) throws IOException {
+        String resource = location.startsWith("/") ? location.substring(1) : location;
+        try (InputStream inputStream = MappingRegistry.class.getClassLoader().getResourceAsStream(resource)) {
+            if (inputStream == null) {
+                throw new MappingException(String.format("Mapping resource '%s' not found", location));
+            }
+
+            return ObjectMapperRegistry.getMapper().readTree(inputStream);
+        }
+    }
+
+    /**
+     * The compile time flags of the resource are part of the key, so deserializers created from different property
+     * values, e.g. before and after {@link MappingPropertySource#setResolver}, never share a plan.
+     */
+    private static final class PlanKey {
+
+        private final Class<?> targetClass;
+        private final String resourceName;
+        private final String location;
+        private final boolean ignoreUnknownProperties;
+        private final boolean ignoreUnmappedProperties;
+
+        private PlanKey(Class<?> targetClass, MappingResourceProperties properties, String location) {
+            this.targetClass = targetClass;
+            this.resourceName = properties.getName();
+            this.location = location;
+            this.ignoreUnknownProperties = properties.isIgnoreUnknownProperties();
+            this.ignoreUnmappedProperties = properties.isIgnoreUnmappedProperties();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PlanKey)) {
+                return false;
+            }
+            PlanKey other = (PlanKey) o;
+            return targetClass == other.targetClass
+                    && ignoreUnknownProperties == other.ignoreUnknownProperties
+                    && ignoreUnmappedProperties == other.ignoreUnmappedProperties
+                    && resourceName.equals(other.resourceName)
+                    && location.equals(other.location);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(targetClass, resourceName, location, ignoreUnknownProperties, ignoreUnmappedProperties);
+        }
+    }
+
+    /**
+     * Nested mappings are compared by content: two {@code mapping} blocks with the same fields for the same type
+     * and the same resource flags compile to the same plan.
+     */
+    private static final class NestedPlanKey {
+
+        private final Class<?> targetClass;
+        private final JsonNode mapping;
+        private final boolean ignoreUnknownProperties;
+        private final boolean ignoreUnmappedProperties;
+        private final int hash;
+
+        private NestedPlanKey(Class<?> targetClass, JsonNode mapping, boolean ignoreUnknownProperties, boolean ignoreUnmappedProperties) {
+            this.targetClass = targetClass;
+            this.mapping = mapping;
+            this.ignoreUnknownProperties = ignoreUnknownProperties;
+            this.ignoreUnmappedProperties = ignoreUnmappedProperties;
+            this.hash = Objects.hash(targetClass, mapping, ignoreUnknownProperties, ignoreUnmappedProperties);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof NestedPlanKey)) {
+                return false;
+            }
+            NestedPlanKey other = (NestedPlanKey) o;
+            return targetClass == other.targetClass
+                    && ignoreUnknownProperties == other.ignoreUnknownProperties
+                    && ignoreUnmappedProperties == other.ignoreUnmappedProperties
+                    && mapping.equals(other.mapping);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package org.deserialize.mapping;
+
+/**
+ * Snapshot of the {@code abstract-deserialize.resource.<name>.*} properties of one mapping resource.
+ */
+public final class MappingResourceProperties {
+
+    private final String name;
+    private final String path;
+    private final String prefix;
+    private final boolean ignoreUnknownProperties;
+    private final boolean ignoreUnmappedProperties;
+    private final MappingMode mode;
+    private final boolean generated;
+    private final int parallelThreshold;
+    private final MappingFormat format;
+    private final boolean metrics;
+    private final int maxDepth;
+    private final int maxArrayLength;
+    private final int maxStringLength;
+    private final long maxTokens;
+
+    private MappingResourceProperties(String name) {
+        this.name = name;
+        this.path = MappingPropertySource.getProperty(key(name, MappingKeys.PATH),
+                MappingPropertySource.getProperty(MappingKeys.GLOBAL_PATH, MappingKeys.DEFAULT_PATH));
+        this.prefix = MappingPropertySource.getProperty(key(name, MappingKeys.PREFIX), name);
+        this.ignoreUnknownProperties = MappingPropertySource.getBoolean(key(name, MappingKeys.IGNORE_UNKNOWN_PROPERTIES), false);
+        this.ignoreUnmappedProperties = MappingPropertySource.getBoolean(key(name, MappingKeys.IGNORE_UNMAPPED_PROPERTIES), false);
+        this.mode = MappingMode.of(MappingPropertySource.getProperty(key(name, MappingKeys.MODE)));
+        this.generated = MappingPropertySource.getBoolean(key(name, MappingKeys.GENERATED), false);
+        this.parallelThreshold = MappingPropertySource.getInt(key(name, MappingKeys.PARALLEL_THRESHOLD), 0);
+        this.format = MappingFormat.of(MappingPropertySource.getProperty(key(name, MappingKeys.FORMAT)));
+        this.metrics = MappingPropertySource.getBoolean(key(name, MappingKeys.METRICS), true);
+        this.maxDepth = MappingPropertySource.getInt(key(name, MappingKeys.MAX_DEPTH), MappingKeys.DEFAULT_MAX_DEPTH);
+        this.maxArrayLength = MappingPropertySource.getInt(key(name, MappingKeys.MAX_ARRAY_LENGTH), 0);
+        this.maxStringLength = MappingPropertySource.getInt(key(name, MappingKeys.MAX_STRING_LENGTH), 0);
+        this.maxTokens = MappingPropertySource.getLong(key(name, MappingKeys.MAX_TOKENS), 0);
+    }
+
+    public static MappingResourceProperties of(String name) {
+        return new MappingResourceProperties(name);
+    }
+
+    static String key(String name, String property) {
+        return MappingKeys.RESOURCE_PREFIX + name + "." + property;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public boolean isIgnoreUnknownProperties() {
+        return ignoreUnknownProperties;
+    }
+
+    public boolean isIgnoreUnmappedProperties() {
+        return ignoreUnmappedProperties;
+    }
+
+    public MappingMode getMode() {
+        return mode;
+    }
+
+    public boolean isGenerated() {
+        return generated;
+    }
+
+    /**
+     * @return minimum number of mapped object elements of a source array to map them all in parallel, {@code 0} when
+     * disabled. With a threshold the object elements of every source array are buffered while it is read, and the
+     * array is split among the pool once its size is known; smaller arrays are then mapped on the calling thread.
+     */
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * @return encoding of the payloads of the resource when their content type does not tell, {@link MappingFormat#JSON} by default
+     */
+    public MappingFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * @return whether the deserializers of the resource publish their {@link MappingMetrics}, {@code true} by default
+     */
+    public boolean isMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @return maximum nesting of objects and arrays below the mapped object, {@value MappingKeys#DEFAULT_MAX_DEPTH}
+     * by default, {@code 0} for no limit
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * @return maximum number of elements of a source array, {@code 0} for no limit
+     */
+    public int getMaxArrayLength() {
+        return maxArrayLength;
+    }
+
+    /**
+     * @return maximum length of a string value or field name, {@code 0} for no limit
+     */
+    public int getMaxStringLength() {
+        return maxStringLength;
+    }
+
+    /**
+     * @return maximum number of tokens of a mapped document, {@code 0} for no limit
+     */
+    public long getMaxTokens() {
+        return maxTokens;
+    }
+
+    public String getMappingLocation() {
+        String folder = path.endsWith("/") ? path : path + "/";
+        return folder + prefix + MappingKeys.MAPPING_EXTENSION;
+    }
+}
@@ -0,0 +1,56 @@
+package org.deserialize.mapping;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.beans.Introspector;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Base class of the mapping driven serializers, the reverse of {@link AbstractCompiledMapping}: an object mapped
+ * from an external payload is written back in the shape of that payload, using the same mapping resource.
+ * <p>
+ * The writer is compiled once from the shared {@link MappingPlan} of the resource and then reads the values
+ * straight from the target getters while generating, without building an intermediate tree.
+ *
+ * @param <T> the mapped target type
+ */
+public abstract class MappingSerializer<T> extends StdSerializer<T> {
+
+    private final ShapeWriter writer;
+
+    /**
+     * @param targetClass     the mapped target type
+     * @param resourceName    name of the {@code abstract-deserialize.resource.<name>} configuration,
+     *                        defaults to the decapitalized simple name of the target class
+     * @param mappingLocation classpath location of the mapping file, defaults to {@code <path>/<prefix>.json}
+     */
+    protected MappingSerializer(Class<T> targetClass, String resourceName, String mappingLocation) throws IOException {
+        super(targetClass);
+        MappingResourceProperties properties = MappingResourceProperties.of(resourceName != null ? resourceName : Introspector.decapitalize(targetClass.getSimpleName()));
+        this.writer = MappingRegistry.getShapeWriter(MappingRegistry.getPlan(targetClass, properties, mappingLocation));
+    }
+
+    @Override
+    public void serialize(T value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        writer.writeObject(value, gen, provider);
+    }
+
+    /**
+     * Writes a whole payload outside of a message converter, e.g. a streamed response body or a queue message.
+     * The output stream is flushed but left open.
+     */
+    public void writeTo(ObjectMapper mapper, T value, OutputStream out) throws IOException {
+        try (JsonGenerator gen = mapper.createGenerator(out)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (value == null) {
+                gen.writeNull();
+            } else {
+                serialize(value, gen, mapper.getSerializerProviderInstance());
+            }
+        }
+    }
+}
@@ -0,0 +1,589 @@
+package org.deserialize.mapping;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Build time generator of plain Java deserializers from the compiled mapping of {@link AbstractCompiledMapping}
+ * subclasses. For every deserializer {@code a.b.FooDeserialize} it writes and compiles {@code a.b.FooDeserializeGenerated},
+ * a {@code StdDeserializer} with the walk of the mapping unrolled into switch statements and direct accessor calls.
+ * <p>
+ * The mapping file and the {@code ignore-unknown-properties}/{@code ignore-unmapped-properties} flags are those of the
+ * build; the generated class records them (see {@link GeneratedMappingSupport#isCompiledWith}) and a resource whose
+ * runtime values differ keeps its interpreted plan. The other resource properties still apply at runtime.
+ * <p>
+ * Usage: {@code MappingSourceGenerator <source output dir> <class output dir> <deserializer>[,<deserializer>...]}
+ */
+public final class MappingSourceGenerator {
+
+    private final Class<?> deserializerClass;
+    private final MappingPlan plan;
+    private final MappingResourceProperties properties;
+    private final String mappingLocation;
+
+    private final Map<String, String> constants = new LinkedHashMap<>();
+    private final Map<MappingPlan, String> planMethods = new IdentityHashMap<>();
+    private final Map<TargetBinding, String> bindMethods = new IdentityHashMap<>();
+    private final StringBuilder methods = new StringBuilder();
+    private int counter;
+
+    MappingSourceGenerator(Class<?> deserializerClass, MappingPlan plan, MappingResourceProperties properties, String mappingLocation) {
+        this.deserializerClass = deserializerClass;
+        this.plan = plan;
+        this.properties = properties;
+        this.mappingLocation = mappingLocation;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            throw new IllegalArgumentException("Usage: MappingSourceGenerator <source output dir> <class output dir> <deserializer>[,<deserializer>...]");
+        }
+
+        Path sourceOutput = Paths.get(args[0]);
+        AbstractCompiledMapping.generatedDeserializersDisabled = true;
+
+        List<Path> sources = new ArrayList<>();
+        for (String className : args[2].split(",")) {
+            if (className.isBlank()) {
+                continue;
+            }
+
+            Class<?> deserializerClass = Class.forName(className.trim());
+            AbstractCompiledMapping<?> deserializer = (AbstractCompiledMapping<?>) deserializerClass.getDeclaredConstructor().newInstance();
+            String source = new MappingSourceGenerator(deserializerClass, deserializer.getPlan(), deserializer.getProperties(), deserializer.getMappingLocation()).generate();
+
+            Path file = sourceOutput.resolve(deserializerClass.getPackageName().replace('.', '/'))
+                    .resolve(deserializerClass.getSimpleName() + MappingKeys.GENERATED_SUFFIX + ".java");
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, source, StandardCharsets.UTF_8);
+            sources.add(file);
+        }
+
+        compile(sources, args[1]);
+    }
+
+    private static void compile(List<Path> sources, String classOutput) throws IOException {
+        if (sources.isEmpty()) {
+            return;
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("Mapping deserializer generation requires a JDK");
+        }
+
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            List<String> options = List.of("-classpath", System.getProperty("java.class.path"), "-d", classOutput, "-proc:none");
+            if (!compiler.getTask(null, fileManager, null, options, null, fileManager.getJavaFileObjectsFromPaths(sources)).call()) {
+                throw new IllegalStateException("Compilation of the generated mapping deserializers failed");
+            }
+        }
+    }
+
+    String generate() throws MappingException {
+        String targetType = typeName(plan.getTargetClass());
+        String generatedName = deserializerClass.getSimpleName() + MappingKeys.GENERATED_SUFFIX;
+        String rootMethod = planMethod(plan);
+
+        StringBuilder source = new StringBuilder();
+        source.append("package ").append(deserializerClass.getPackageName()).append(";\n\n")
+                .append("import com.fasterxml.jackson.core.JsonParser;\n")
+                .append("import com.fasterxml.jackson.core.JsonToken;\n")
+                .append("import com.fasterxml.jackson.databind.DeserializationContext;\n")
+                .append("import com.fasterxml.jackson.databind.JavaType;\n")
+                .append("import com.fasterxml.jackson.databind.JsonNode;\n")
+                .append("import com.fasterxml.jackson.databind.deser.std.StdDeserializer;\n")
+                .append("import com.fasterxml.jackson.databind.type.TypeFactory;\n")
+                .append("import com.fasterxml.jackson.databind.util.TokenBuffer;\n")
+                .append("import org.deserialize.mapping.GeneratedMappingSupport;\n")
+                .append("import org.deserialize.mapping.MappingException;\n\n")
+                .append("import java.io.IOException;\n")
+                .append("import java.util.ArrayList;\n")
+                .append("import java.util.List;\n\n")
+                .append("/**\n")
+                .append(" * Generated from ").append(mappingLocation).append(" for {@link ").append(deserializerClass.getSimpleName()).append("}, do not edit.\n")
+                .append(" */\n")
+                .append("@javax.annotation.processing.Generated(\"").append(MappingSourceGenerator.class.getName()).append("\")\n")
+                .append("public final class ").append(generatedName).append(" extends StdDeserializer<").append(targetType).append("> {\n\n")
+                .append("    public static final String ").append(GeneratedMappingSupport.MAPPING_LOCATION).append(" = \"").append(literal(mappingLocation)).append("\";\n")
+                .append("    public static final boolean ").append(GeneratedMappingSupport.IGNORE_UNKNOWN_PROPERTIES).append(" = ").append(properties.isIgnoreUnknownProperties()).append(";\n")
+                .append("    public static final boolean ").append(GeneratedMappingSupport.IGNORE_UNMAPPED_PROPERTIES).append(" = ").append(properties.isIgnoreUnmappedProperties()).append(";\n");
+
+        constants.values().forEach(constant -> source.append("    ").append(constant).append("\n"));
+
+        source.append("\n    public ").append(generatedName).append("() {\n")
+                .append("        super(").append(targetType).append(".class);\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public ").append(targetType).append(" deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {\n")
+                .append("        return ").append(rootMethod).append("(p, ctxt);\n")
+                .append("    }\n\n")
+                .append(methods)
+                .append("}\n");
+
+        return source.toString();
+    }
+
+    private String planMethod(MappingPlan plan) throws MappingException {
+        String existing = planMethods.get(plan);
+        if (existing != null) {
+            return existing;
+        }
+
+        String name = "map" + counter++;
+        planMethods.put(plan, name);
+
+        String targetType = typeName(plan.getTargetClass());
+        String walkMethod = walkMethod(plan, plan.getRoot());
+
+        StringBuilder method = new StringBuilder();
+        method.append("    private static ").append(targetType).append(" ").append(name).append("(JsonParser p, DeserializationContext ctxt) throws IOException {\n")
+                .append("        JsonToken token = p.currentToken();\n")
+                .append("        if (token == null) {\n")
+                .append("            token = p.nextToken();\n")
+                .append("        }\n")
+                .append("        if (token == JsonToken.VALUE_NULL) {\n")
+                .append("            return null;\n")
+                .append("        }\n")
+                .append("        if (token == JsonToken.START_OBJECT) {\n")
+                .append("            p.nextToken();\n")
+                .append("        } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {\n")
+                .append("            throw new MappingException(\"Expected a json object for ").append(literal(plan.getTargetClass().getName())).append(", found \" + token);\n")
+                .append("        }\n\n")
+                .append("        ").append(targetType).append(" target = new ").append(targetType).append("();\n")
+                .append("        long[] seen = new long[").append(CompletionBits.forSize(plan.getCompletionBindings().length).length).append("];\n");
+
+        for (TargetBinding binding : plan.getHeaderBindings()) {
+            method.append("        try (JsonParser headerParser = GeneratedMappingSupport.header(\"").append(literal(binding.getSourcePath())).append("\", p.getCodec())) {\n")
+                    .append("            if (headerParser != null) {\n")
+                    .append(bindCall(plan, binding, "headerParser", "                "))
+                    .append("            }\n")
+                    .append("        }\n");
+        }
+
+        method.append("        ").append(walkMethod).append("(p, ctxt, target, seen);\n")
+                .append(requiredCheck(plan, plan.getRequiredMask(), "        "));
+
+        for (TargetBinding binding : plan.getDefaultBindings()) {
+            String defaultConstant = constant("DEFAULT", "JsonNode", "GeneratedMappingSupport.defaultValue(\"" + literal(binding.getDefaultValue().toString()) + "\")");
+            method.append("        if (").append(seenBit(binding.getCompletionIndex())).append(" == 0) {\n")
+                    .append("            try (JsonParser defaultParser = ").append(defaultConstant).append(".traverse()) {\n")
+                    .append("                defaultParser.nextToken();\n")
+                    .append("                ").append(bindMethod(plan, binding)).append("(defaultParser, ctxt, target);\n")
+                    .append("            }\n")
+                    .append("        }\n");
+        }
+
+        method.append("        return target;\n")
+                .append("    }\n\n");
+
+        methods.append(method);
+        return name;
+    }
+
+    private String walkMethod(MappingPlan plan, SourceNode node) throws MappingException {
+        String name = "walk" + counter++;
+        String targetType = typeName(plan.getTargetClass());
+
+        StringBuilder cases = new StringBuilder();
+        for (Map.Entry<String, SourceNode> child : node.getChildren().entrySet()) {
+            cases.append("                case \"").append(literal(child.getKey())).append("\": {\n")
+                    .append(fieldBody(plan, child.getValue()))
+                    .append("                    break;\n")
+                    .append("                }\n");
+        }
+
+        if (node == plan.getRoot()) {
+            for (Map.Entry<String, TargetBinding> unmapped : plan.getUnmappedBindings().entrySet()) {
+                if (node.getChild(unmapped.getKey()) == null) {
+                    cases.append("                case \"").append(literal(unmapped.getKey())).append("\":\n")
+                            .append("                    ").append(bindMethod(plan, unmapped.getValue())).append("(p, ctxt, target);\n")
+                            .append("                    break;\n");
+                }
+            }
+        }
+
+        cases.append("                default:\n");
+        if (plan.isIgnoreUnknownProperties()) {
+            cases.append("                    p.skipChildren();\n");
+        } else {
+            cases.append("                    throw new MappingException(\"Unknown property '")
+                    .append(node.getPath() == null ? "" : literal(node.getPath() + MappingKeys.PATH_SEPARATOR))
+                    .append("\" + fieldName + \"' for ").append(literal(plan.getTargetClass().getName())).append("\");\n");
+        }
+
+        StringBuilder method = new StringBuilder();
+        method.append("    private static void ").append(name).append("(JsonParser p, DeserializationContext ctxt, ").append(targetType).append(" target, long[] seen) throws IOException {\n")
+                .append("        for (JsonToken token = p.currentToken(); token == JsonToken.FIELD_NAME; token = p.nextToken()) {\n")
+                .append("            String fieldName = p.getCurrentName();\n")
+                .append("            JsonToken valueToken = p.nextToken();\n")
+                .append("            switch (fieldName) {\n")
+                .append(cases)
+                .append("            }\n")
+                .append("        }\n")
+                .append("    }\n\n");
+
+        methods.append(method);
+        return name;
+    }
+
+    private String fieldBody(MappingPlan plan, SourceNode node) throws MappingException {
+        TargetBinding[] bindings = node.getBindings();
+        String nestedWalk = node.hasChildren() ? walkMethod(plan, node) : null;
+        String indent = "                    ";
+
+        StringBuilder body = new StringBuilder();
+        if (bindings.length == 0) {
+            if (nestedWalk != null) {
+                body.append(indent).append("if (valueToken == JsonToken.START_OBJECT) {\n")
+                        .append(indent).append("    p.nextToken();\n")
+                        .append(indent).append("    ").append(nestedWalk).append("(p, ctxt, target, seen);\n")
+                        .append(requiredCheck(plan, node.getRequiredMask(), indent + "    "))
+                        .append(indent).append("} else {\n")
+                        .append(indent).append("    p.skipChildren();\n")
+                        .append(indent).append("}\n");
+            } else {
+                body.append(indent).append("p.skipChildren();\n");
+            }
+        } else if (bindings.length == 1 && nestedWalk == null) {
+            body.append(bindCall(plan, bindings[0], "p", indent));
+        } else {
+            body.append(indent).append("TokenBuffer buffer = ctxt.bufferAsCopyOfValue(p);\n");
+            for (TargetBinding binding : bindings) {
+                body.append(indent).append("try (JsonParser bufferParser = buffer.asParser(p.getCodec())) {\n")
+                        .append(indent).append("    bufferParser.nextToken();\n")
+                        .append(bindCall(plan, binding, "bufferParser", indent + "    "))
+                        .append(indent).append("}\n");
+            }
+
+            if (nestedWalk != null) {
+                body.append(indent).append("if (valueToken == JsonToken.START_OBJECT) {\n")
+                        .append(indent).append("    try (JsonParser bufferParser = buffer.asParser(p.getCodec())) {\n")
+                        .append(indent).append("        bufferParser.nextToken();\n")
+                        .append(indent).append("        bufferParser.nextToken();\n")
+                        .append(indent).append("        ").append(nestedWalk).append("(bufferParser, ctxt, target, seen);\n")
+                        .append(indent).append("    }\n")
+                        .append(requiredCheck(plan, node.getRequiredMask(), indent + "    "))
+                        .append(indent).append("}\n");
+            }
+        }
+
+        return body.toString();
+    }
+
+    private String bindCall(MappingPlan plan, TargetBinding binding, String parser, String indent) throws MappingException {
+        String call = bindMethod(plan, binding) + "(" + parser + ", ctxt, target)";
+        int index = binding.getCompletionIndex();
+        if (index < 0) {
+            return indent + call + ";\n";
+        }
+
+        return indent + "if (" + call + ") {\n" + indent + "    seen[" + index / Long.SIZE + "] |= " + hex(1L << index) + ";\n" + indent + "}\n";
+    }
+
+    /**
+     * One mask comparison per word of {@link CompletionBits}, the failing binding is only looked for when it fails.
+     */
+    private static String requiredCheck(MappingPlan plan, long[] requiredMask, String indent) {
+        StringBuilder check = new StringBuilder();
+        for (int word = 0; word < requiredMask.length; word++) {
+            if (requiredMask[word] == 0) {
+                continue;
+            }
+
+            String mask = hex(requiredMask[word]);
+            check.append(indent).append("if ((seen[").append(word).append("] & ").append(mask).append(") != ").append(mask).append(") {\n");
+            for (int bit = 0; bit < Long.SIZE; bit++) {
+                if ((requiredMask[word] & 1L << bit) != 0) {
+                    TargetBinding binding = plan.getCompletionBindings()[word * Long.SIZE + bit];
+                    check.append(indent).append("    if (").append(seenBit(binding.getCompletionIndex())).append(" == 0) {\n")
+                            .append(indent).append("        throw new MappingException(\"Missing required property '").append(literal(binding.getSourcePath()))
+                            .append("' for ").append(literal(plan.getTargetClass().getName())).append("\");\n")
+                            .append(indent).append("    }\n");
+                }
+            }
+            check.append(indent).append("}\n");
+        }
+
+        return check.toString();
+    }
+
+    private static String seenBit(int index) {
+        return "(seen[" + index / Long.SIZE + "] & " + hex(1L << index) + ")";
+    }
+
+    private static String hex(long value) {
+        return "0x" + Long.toHexString(value) + "L";
+    }
+
+    private String bindMethod(MappingPlan plan, TargetBinding binding) throws MappingException {
+        String existing = bindMethods.get(binding);
+        if (existing != null) {
+            return existing;
+        }
+
+        String name = "bind" + counter++;
+        bindMethods.put(binding, name);
+
+        PropertyAccessor[] accessors = binding.getTarget().getAccessors();
+        PropertyAccessor last = accessors[accessors.length - 1];
+        String valueType = valueTypeName(last);
+        String type = typeConstant(binding.getType());
+
+        StringBuilder method = new StringBuilder();
+        method.append("    @SuppressWarnings(\"unchecked\")\n")
+                .append("    private static boolean ").append(name).append("(JsonParser p, DeserializationContext ctxt, ").append(typeName(plan.getTargetClass())).append(" target) throws IOException {\n")
+                .append("        JsonToken token = p.currentToken();\n")
+                .append("        ").append(valueType).append(" value = null;\n")
+                .append("        if (token != JsonToken.VALUE_NULL) {\n");
+
+        String plainRead = "value = (" + valueType + ") ctxt.readValue(p, " + type + ");\n";
+        if (binding.isLazy()) {
+            // lazy types are beans, checked at compile time: no converter, primitive array or element mapping here
+            String lazyRead;
+            if (binding.getValuePlan() != null) {
+                lazyRead = planMethod(binding.getValuePlan()) + "(lazyParser, lazyCtxt)";
+            } else if (!binding.getExcludeProperties().isEmpty()) {
+                lazyRead = "GeneratedMappingSupport.readExcluding(lazyParser, lazyCtxt, " + type + ", " + excludePropertiesConstant(binding) + ")";
+            } else {
+                lazyRead = "lazyCtxt.readValue(lazyParser, " + type + ")";
+            }
+
+            method.append("            if (token == JsonToken.START_OBJECT) {\n")
+                    .append("                value = (").append(valueType).append(") GeneratedMappingSupport.lazy(p, ctxt, ")
+                    .append(typeName(binding.getType().getRawClass())).append(".class, (lazyParser, lazyCtxt) -> ").append(lazyRead).append(");\n")
+                    .append("            } else {\n")
+                    .append("                ").append(plainRead)
+                    .append("            }\n");
+        } else if (binding.getConverter() != null) {
+            String format = binding.getFormat() == null ? "null" : "\"" + literal(binding.getFormat()) + "\"";
+            String converter = constant("CONVERTER", "org.deserialize.mapping.ValueConverter",
+                    "GeneratedMappingSupport.converter(" + typeName(binding.getType().getRawClass()) + ".class, " + format + ")");
+
+            method.append("            value = (").append(valueType).append(") ").append(converter).append(".convert(p, ctxt);\n");
+        } else if (binding.getPrimitiveArrayReader() != null) {
+            StringBuilder excluded = new StringBuilder();
+            for (Integer index : new TreeSet<>(binding.getExcludeIndexes())) {
+                excluded.append(excluded.length() == 0 ? "" : ", ").append(index);
+            }
+            String excludeIndexes = constant("EXCLUDE", "java.util.BitSet", "GeneratedMappingSupport.indexes(" + excluded + ")");
+
+            method.append("            value = (").append(valueType).append(") GeneratedMappingSupport.readPrimitiveArray(p, ctxt, ")
+                    .append(typeConstant(binding.getType())).append(", ").append(excludeIndexes).append(");\n");
+        } else if (binding.isElementMapped() && binding.getType().isContainerType()) {
+            method.append("            if (token == JsonToken.START_ARRAY) {\n")
+                    .append("                value = (").append(valueType).append(") ").append(elementsMethod(binding)).append("(p, ctxt);\n")
+                    .append("            } else {\n")
+                    .append("                ").append(plainRead)
+                    .append("            }\n");
+        } else if (binding.getValuePlan() != null) {
+            method.append("            if (token == JsonToken.START_OBJECT) {\n")
+                    .append("                value = ").append(planMethod(binding.getValuePlan())).append("(p, ctxt);\n")
+                    .append("            } else {\n")
+                    .append("                ").append(plainRead)
+                    .append("            }\n");
+        } else if (!binding.getExcludeProperties().isEmpty()) {
+            method.append("            if (token == JsonToken.START_OBJECT) {\n")
+                    .append("                value = (").append(valueType).append(") GeneratedMappingSupport.readExcluding(p, ctxt, ").append(type).append(", ").append(excludePropertiesConstant(binding)).append(");\n")
+                    .append("            } else {\n")
+                    .append("                ").append(plainRead)
+                    .append("            }\n");
+        } else {
+            method.append("            ").append(plainRead);
+        }
+        method.append("        }\n");
+
+        String bean = "target";
+        for (int i = 0; i < accessors.length - 1; i++) {
+            PropertyAccessor accessor = accessors[i];
+            String beanType = typeName(accessor.getType().getRawClass());
+            String variable = "bean" + i;
+            method.append("        ").append(beanType).append(" ").append(variable).append(" = ").append(bean).append(".").append(accessor.getReadMethod().getName()).append("();\n")
+                    .append("        if (").append(variable).append(" == null) {\n")
+                    .append("            ").append(variable).append(" = new ").append(beanType).append("();\n")
+                    .append("            ").append(bean).append(".").append(accessor.getWriteMethod().getName()).append("(").append(variable).append(");\n")
+                    .append("        }\n");
+            bean = variable;
+        }
+
+        String setter = last.getWriteMethod().getName();
+        if (last.getType().isPrimitive()) {
+            method.append("        if (value != null) {\n")
+                    .append("            ").append(bean).append(".").append(setter).append("(value);\n")
+                    .append("        }\n");
+        } else {
+            method.append("        ").append(bean).append(".").append(setter).append("(value);\n");
+        }
+
+        method.append("        return token != JsonToken.VALUE_NULL;\n")
+                .append("    }\n\n");
+
+        methods.append(method);
+        return name;
+    }
+
+    private String excludePropertiesConstant(TargetBinding binding) {
+        StringBuilder excluded = new StringBuilder();
+        for (String property : new TreeSet<>(binding.getExcludeProperties())) {
+            excluded.append(excluded.length() == 0 ? "" : ", ").append("\"").append(literal(property)).append("\"");
+        }
+
+        return constant("EXCLUDE", "java.util.Set<String>", "java.util.Set.of(" + excluded + ")");
+    }
+
+    private String elementsMethod(TargetBinding binding) throws MappingException {
+        String name = "elements" + counter++;
+        String containerType = typeConstant(binding.getType());
+        String contentType = typeConstant(binding.getType().getContentType());
+        String plainRead = "ctxt.readValue(p, " + contentType + ")";
+        String defaultRead = binding.getValuePlan() != null ? planMethod(binding.getValuePlan()) + "(p, ctxt)" : plainRead;
+
+        StringBuilder method = new StringBuilder();
+        method.append("    private static Object ").append(name).append("(JsonParser p, DeserializationContext ctxt) throws IOException {\n")
+                .append("        List<Object> elements = new ArrayList<>();\n")
+                .append("        int index = 0;\n")
+                .append("        for (JsonToken token = p.nextToken(); token != JsonToken.END_ARRAY; token = p.nextToken(), index++) {\n")
+                .append("            if (token == null) {\n")
+                .append("                throw new MappingException(\"Unexpected end of input in '").append(literal(binding.getSourcePath())).append("'\");\n")
+                .append("            }\n");
+
+        if (!binding.getExcludeIndexes().isEmpty()) {
+            method.append("            switch (index) {\n");
+            for (Integer index : new TreeSet<>(binding.getExcludeIndexes())) {
+                method.append("                case ").append(index).append(":\n");
+            }
+            method.append("                    p.skipChildren();\n")
+                    .append("                    continue;\n")
+                    .append("                default:\n")
+                    .append("                    break;\n")
+                    .append("            }\n");
+        }
+
+        method.append("            if (token == JsonToken.VALUE_NULL) {\n")
+                .append("                elements.add(null);\n")
+                .append("            } else if (token == JsonToken.START_OBJECT) {\n");
+
+        if (binding.getIndexPlans().isEmpty()) {
+            method.append("                elements.add(").append(defaultRead).append(");\n");
+        } else {
+            method.append("                switch (index) {\n");
+            for (Integer index : new TreeSet<>(binding.getIndexPlans().keySet())) {
+                MappingPlan indexPlan = binding.getIndexPlans().get(index);
+                method.append("                    case ").append(index).append(":\n")
+                        .append("                        elements.add(").append(indexPlan != null ? planMethod(indexPlan) + "(p, ctxt)" : plainRead).append(");\n")
+                        .append("                        break;\n");
+            }
+            method.append("                    default:\n")
+                    .append("                        elements.add(").append(defaultRead).append(");\n")
+                    .append("                }\n");
+        }
+
+        method.append("            } else {\n")
+                .append("                elements.add(").append(plainRead).append(");\n")
+                .append("            }\n")
+                .append("        }\n")
+                .append("        return GeneratedMappingSupport.toContainer(").append(containerType).append(", elements);\n")
+                .append("    }\n\n");
+
+        methods.append(method);
+        return name;
+    }
+
+    private String typeConstant(JavaType type) {
+        String canonical = type.toCanonical();
+        return constant("TYPE", "JavaType", "TypeFactory.defaultInstance().constructFromCanonical(\"" + literal(canonical) + "\")", canonical);
+    }
+
+    private String constant(String prefix, String type, String initializer) {
+        return constant(prefix, type, initializer, prefix + ":" + initializer);
+    }
+
+    private String constant(String prefix, String type, String initializer, String key) {
+        String declarationKey = prefix + ":" + key;
+        String existing = constants.get(declarationKey);
+        if (existing != null) {
+            return existing.substring(existing.indexOf(prefix + "_"), existing.indexOf(" ="));
+        }
+
+        String name = prefix + "_" + constants.size();
+        constants.put(declarationKey, "private static final " + type + " " + name + " = " + initializer + ";");
+        return name;
+    }
+
+    private static String valueTypeName(PropertyAccessor accessor) {
+        Method setter = accessor.getWriteMethod();
+        Class<?> rawClass = setter.getParameterTypes()[0];
+        if (rawClass.isPrimitive()) {
+            return MethodType.methodType(rawClass).wrap().returnType().getName();
+        }
+
+        Type genericType = setter.getGenericParameterTypes()[0];
+        if (genericType instanceof ParameterizedType && isConcrete(genericType)) {
+            return genericType.getTypeName().replace('$', '.');
+        }
+
+        return typeName(rawClass);
+    }
+
+    private static boolean isConcrete(Type type) {
+        if (type instanceof Class<?>) {
+            return true;
+        }
+
+        if (type instanceof ParameterizedType parameterizedType) {
+            for (Type argument : parameterizedType.getActualTypeArguments()) {
+                if (!isConcrete(argument)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        return false;
+    }
+
+    private static String typeName(Class<?> klass) {
+        return klass.getCanonicalName();
+    }
+
+    private static String literal(String value) {
+        StringBuilder literal = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> literal.append("\\\"");
+                case '\\' -> literal.append("\\\\");
+                case '\n' -> literal.append("\\n");
+                case '\r' -> literal.append("\\r");
+                case '\t' -> literal.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        literal.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        literal.append(c);
+                    }
+                }
+            }
+        }
+
+        return literal.toString();
+    }
+}
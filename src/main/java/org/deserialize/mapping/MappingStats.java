@@ -0,0 +1,59 @@
+package org.deserialize.mapping;
+
+/**
+ * Field counters of one mapped document, filled by the {@link MappingExecutor} walking it and reported by
+ * {@link MappingMetrics}.
+ */
+final class MappingStats {
+
+    private int mapped;
+    private int unknown;
+    private int skipped;
+    private int defaults;
+
+    /** A source value was bound to a target property. */
+    void mapped() {
+        mapped++;
+    }
+
+    /** A source field unknown to the plan was met. */
+    void unknown() {
+        unknown++;
+    }
+
+    /** A known source value was not bound: a group without object value or an excluded element. */
+    void skipped() {
+        skipped++;
+    }
+
+    /** A missing value was replaced by its {@code defaultValue}. */
+    void defaultApplied() {
+        defaults++;
+    }
+
+    /**
+     * Adds the counters of the elements mapped on another thread, see {@link ParallelElementMapper}.
+     */
+    synchronized void add(MappingStats other) {
+        mapped += other.mapped;
+        unknown += other.unknown;
+        skipped += other.skipped;
+        defaults += other.defaults;
+    }
+
+    int getMapped() {
+        return mapped;
+    }
+
+    int getUnknown() {
+        return unknown;
+    }
+
+    int getSkipped() {
+        return skipped;
+    }
+
+    int getDefaults() {
+        return defaults;
+    }
+}
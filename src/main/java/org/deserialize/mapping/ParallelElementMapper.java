@@ -0,0 +1,201 @@
+package org.deserialize.mapping;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Maps the object elements of one source array on the common {@link ForkJoinPool}.
+ * <p>
+ * The object elements are buffered while the array is read, keeping their slot in the result list, so order and
+ * {@code excludeIndexes} are decided by the reading thread exactly as in the sequential walk. Once the array is
+ * consumed its size is known: from {@code threshold} object elements they are all split among the pool, smaller
+ * arrays are mapped from their buffers on the calling thread, as the sequential walk would. {@link DeserializationContext} is
+ * not thread safe: every element gets its own context, sharing configuration and deserializer cache with the request
+ * one. The pool threads have no request context either: the headers read by the element plans are resolved on the
+ * calling thread and {@link MappingHeaderSource#bind(Map) bound} to the tasks.
+ */
+final class ParallelElementMapper {
+
+    private final DefaultDeserializationContext ctxt;
+    private final ObjectCodec codec;
+    private final int threshold;
+    private final MappingStats stats;
+    private final List<PendingElement> pending = new ArrayList<>();
+
+    private ParallelElementMapper(DefaultDeserializationContext ctxt, ObjectCodec codec, int threshold, MappingStats stats) {
+        this.ctxt = ctxt;
+        this.codec = codec;
+        this.threshold = threshold;
+        this.stats = stats;
+    }
+
+    /**
+     * @return a mapper for the array the parser is on, or {@code null} when parallel mapping is disabled
+     */
+    static ParallelElementMapper of(DeserializationContext ctxt, JsonParser p, int threshold, MappingStats stats) {
+        if (threshold <= 0 || !(ctxt instanceof DefaultDeserializationContext)) {
+            return null;
+        }
+
+        return new ParallelElementMapper((DefaultDeserializationContext) ctxt, p.getCodec(), threshold, stats);
+    }
+
+    /**
+     * Buffers the object element the parser is on, to be mapped into {@code slot} of the result list.
+     */
+    void add(int slot, MappingPlan plan, JsonParser p) throws IOException {
+        pending.add(new PendingElement(slot, plan, ctxt.bufferAsCopyOfValue(p)));
+    }
+
+    /**
+     * Maps the buffered elements into their slots: in parallel when there are at least {@code threshold} of them,
+     * on the calling thread with the request context otherwise.
+     */
+    void mapInto(List<Object> elements) throws IOException {
+        if (pending.size() < threshold) {
+            MappingExecutor executor = new MappingExecutor(ctxt, threshold, stats);
+            for (PendingElement element : pending) {
+                try (JsonParser elementParser = element.buffer.asParser(codec)) {
+                    elementParser.nextToken();
+                    elements.set(element.slot, executor.execute(element.plan, elementParser));
+                }
+            }
+            return;
+        }
+
+        Object[] results = new Object[pending.size()];
+        int leafSize = Math.max(1, pending.size() / (ForkJoinPool.getCommonPoolParallelism() * 4));
+        try {
+            ForkJoinPool.commonPool().invoke(new MappingTask(results, 0, pending.size(), leafSize, headers()));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        for (int i = 0; i < results.length; i++) {
+            elements.set(pending.get(i).slot, results[i]);
+        }
+    }
+
+    /**
+     * @return the values of the headers read by the buffered element plans, nested plans included
+     */
+    private Map<String, String> headers() {
+        Set<String> names = new HashSet<>();
+        Set<MappingPlan> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (PendingElement element : pending) {
+            collectHeaderNames(element.plan, visited, names);
+        }
+
+        Map<String, String> headers = new HashMap<>();
+        for (String name : names) {
+            headers.put(name, MappingHeaderSource.getHeader(name));
+        }
+        return headers;
+    }
+
+    private static void collectHeaderNames(MappingPlan plan, Set<MappingPlan> visited, Set<String> names) {
+        if (plan == null || !visited.add(plan)) {
+            return;
+        }
+
+        for (TargetBinding binding : plan.getHeaderBindings()) {
+            names.add(binding.getSourcePath());
+        }
+        collectHeaderNames(plan.getRoot(), visited, names);
+        for (TargetBinding binding : plan.getUnmappedBindings().values()) {
+            collectHeaderNames(binding, visited, names);
+        }
+    }
+
+    private static void collectHeaderNames(SourceNode node, Set<MappingPlan> visited, Set<String> names) {
+        for (TargetBinding binding : node.getBindings()) {
+            collectHeaderNames(binding, visited, names);
+        }
+        for (SourceNode child : node.getChildren().values()) {
+            collectHeaderNames(child, visited, names);
+        }
+    }
+
+    private static void collectHeaderNames(TargetBinding binding, Set<MappingPlan> visited, Set<String> names) {
+        collectHeaderNames(binding.getValuePlan(), visited, names);
+        for (MappingPlan indexPlan : binding.getIndexPlans().values()) {
+            collectHeaderNames(indexPlan, visited, names);
+        }
+    }
+
+    private Object mapIsolated(PendingElement element, MappingStats leafStats) throws IOException {
+        try (JsonParser elementParser = element.buffer.asParser(codec)) {
+            elementParser.nextToken();
+            DeserializationContext elementCtxt = ctxt.createInstance(ctxt.getConfig(), elementParser, null);
+            return new MappingExecutor(elementCtxt, 0, leafStats).execute(element.plan, elementParser);
+        }
+    }
+
+    private final class MappingTask extends RecursiveAction {
+
+        private final Object[] results;
+        private final int from;
+        private final int to;
+        private final int leafSize;
+        private final Map<String, String> headers;
+
+        private MappingTask(Object[] results, int from, int to, int leafSize, Map<String, String> headers) {
+            this.results = results;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+            this.headers = headers;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= leafSize) {
+                MappingStats leafStats = new MappingStats();
+                Map<String, String> previousHeaders = MappingHeaderSource.bind(headers);
+                try {
+                    for (int i = from; i < to; i++) {
+                        results[i] = mapIsolated(pending.get(i), leafStats);
+                    }
+                    stats.add(leafStats);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } finally {
+                    MappingHeaderSource.restore(previousHeaders);
+                }
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new MappingTask(results, from, middle, leafSize, headers), new MappingTask(results, middle, to, leafSize, headers));
+        }
+    }
+
+    private static final class PendingElement {
+
+        private final int slot;
+        private final MappingPlan plan;
+        private final TokenBuffer buffer;
+
+        private PendingElement(int slot, MappingPlan plan, TokenBuffer buffer) {
+            this.slot = slot;
+            this.plan = plan;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package org.deserialize.mapping;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fills {@code int[]}, {@code long[]} and {@code double[]} targets, and arrays of them such as {@code int[][]},
+ * straight from the number tokens of a source array, without boxing the elements. Their boxed counterparts, such as
+ * {@code Integer[]} or {@code Integer[][]}, and collections of {@code Integer}, {@code Long} or {@code Double} are
+ * read the same way, boxing each value once, without going through the element deserializers of jackson. Resolved
+ * once per binding at compile time, {@code excludeIndexes} are applied while reading.
+ */
+abstract class PrimitiveArrayReader {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final BitSet NO_INDEXES = new BitSet();
+
+    private static final PrimitiveArrayReader INT = new PrimitiveArrayReader(int[].class) {
+        @Override
+        Object readElements(JsonParser p, DeserializationContext ctxt, BitSet excludeIndexes) throws IOException {
+            int[] values = new int[INITIAL_CAPACITY];
+            int size = 0;
+            int index = 0;
+            for (JsonToken token = p.nextToken(); token != JsonToken.END_ARRAY; token = p.nextToken(), index++) {
+                if (skip(p, token, index, excludeIndexes)) {
+                    continue;
+                }
+                if (size == values.length) {
+                    values = Arrays.copyOf(values, size << 1);
+                }
+                values[size++] = token == JsonToken.VALUE_NUMBER_INT ? p.getIntValue() : ctxt.readValue(p, Integer.TYPE);
+            }
+            return size == values.length ? values : Arrays.copyOf(values, size);
+        }
+    };
+
+    private static final PrimitiveArrayReader LONG = new PrimitiveArrayReader(long[].class) {
+        @Override
+        Object readElements(JsonParser p, DeserializationContext ctxt, BitSet excludeIndexes) throws IOException {
+            long[] values = new long[INITIAL_CAPACITY];
+            int size = 0;
+            int index = 0;
+            for (JsonToken token = p.nextToken(); token != JsonToken.END_ARRAY; token = p.nextToken(), index++) {
+                if (skip(p, token, index, excludeIndexes)) {
+                    continue;
+                }
+                if (size == values.length) {
+                    values = Arrays.copyOf(values, size << 1);
+                }
+                values[size++] = token == JsonToken.VALUE_NUMBER_INT ? p.getLongValue() : ctxt.readValue(p, Long.TYPE);
+            }
+            return size == values.length ? values : Arrays.copyOf(values, size);
+        }
+    };
+
+    private static final PrimitiveArrayReader DOUBLE = new PrimitiveArrayReader(double[].class) {
+        @Override
+        Object readElements(JsonParser p, DeserializationContext ctxt, BitSet excludeIndexes) throws IOException {
+            double[] values = new double[INITIAL_CAPACITY];
+            int size = 0;
+            int index = 0;
+            for (JsonToken token = p.nextToken(); token != JsonToken.END_ARRAY; token = p.nextToken(), index++) {
+                if (skip(p, token, index, excludeIndexes)) {
+                    continue;
+                }
+                if (size == values.length) {
+                    values = Arrays.copyOf(values, size << 1);
+                }
+                values[size++] = token.isNumeric() ? p.getDoubleValue() : ctxt.readValue(p, Double.TYPE);
+            }
+            return size == values.length ? values : Arrays.copyOf(values, size);
+        }
+    };
+
+    private static final PrimitiveArrayReader INTEGER_ARRAY = new BoxedArray(Integer[].class, BoxedElement.INTEGER);
+    private static final PrimitiveArrayReader LONG_ARRAY = new BoxedArray(Long[].class, BoxedElement.LONG);
+    private static final PrimitiveArrayReader DOUBLE_ARRAY = new BoxedArray(Double[].class, BoxedElement.DOUBLE);
+
+    private static final ClassValue<PrimitiveArrayReader> READERS = new ClassValue<>() {
+        @Override
+        protected PrimitiveArrayReader computeValue(Class<?> type) {
+            return resolve(type);
+        }
+    };
+
+    private static final Map<JavaType, PrimitiveArrayReader> COLLECTION_READERS = new ConcurrentHashMap<>();
+
+    private final Class<?> arrayClass;
+
+    private PrimitiveArrayReader(Class<?> arrayClass) {
+        this.arrayClass = arrayClass;
+    }
+
+    /**
+     * @return the reader of the given target class, {@code null} when it is not a supported array
+     */
+    static PrimitiveArrayReader forClass(Class<?> rawClass) {
+        return READERS.get(rawClass);
+    }
+
+    /**
+     * @return the reader of the given target type, array or collection, {@code null} when it is not supported
+     */
+    static PrimitiveArrayReader forType(JavaType type) {
+        if (!type.isCollectionLikeType() || !Collection.class.isAssignableFrom(type.getRawClass())) {
+            return forClass(type.getRawClass());
+        }
+
+        BoxedElement element = BoxedElement.of(type.getContentType().getRawClass());
+        return element == null ? null : COLLECTION_READERS.computeIfAbsent(type, collectionType -> new BoxedCollection(collectionType, element));
+    }
+
+    private static PrimitiveArrayReader resolve(Class<?> rawClass) {
+        if (rawClass == int[].class) {
+            return INT;
+        }
+        if (rawClass == long[].class) {
+            return LONG;
+        }
+        if (rawClass == double[].class) {
+            return DOUBLE;
+        }
+        if (rawClass == Integer[].class) {
+            return INTEGER_ARRAY;
+        }
+        if (rawClass == Long[].class) {
+            return LONG_ARRAY;
+        }
+        if (rawClass == Double[].class) {
+            return DOUBLE_ARRAY;
+        }
+        if (rawClass.isArray()) {
+            PrimitiveArrayReader componentReader = forClass(rawClass.getComponentType());
+            return componentReader != null ? new Nested(rawClass, componentReader) : null;
+        }
+
+        return null;
+    }
+
+    Class<?> getArrayClass() {
+        return arrayClass;
+    }
+
+    /**
+     * Reads the array the parser is on, leaving the parser on its {@code END_ARRAY}.
+     */
+    Object read(JsonParser p, DeserializationContext ctxt, BitSet excludeIndexes) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            return readOther(p, ctxt);
+        }
+
+        return readElements(p, ctxt, excludeIndexes);
+    }
+
+    /**
+     * Reads a value that is not an array, e.g. a single value accepted as an array, with the jackson deserializer.
+     */
+    Object readOther(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return ctxt.readValue(p, arrayClass);
+    }
+
+    abstract Object readElements(JsonParser p, DeserializationContext ctxt, BitSet excludeIndexes) throws IOException;
+
+    private static boolean skip(JsonParser p, JsonToken token, int index, BitSet excludeIndexes) throws IOException {
+        if (token == null) {
+            throw new MappingException("Unexpected end of input in a number array");
+        }
+
+        if (excludeIndexes.get(index)) {
+            p.skipChildren();
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Array of primitive arrays: the rows are read by the component reader, only the outer array holds references.
+     */
+    private static final class Nested extends PrimitiveArrayReader {
+
+        private final PrimitiveArrayReader componentReader;
+
+        private Nested(Class<?> arrayClass, PrimitiveArrayReader componentReader) {
+            super(arrayClass);
+            this.componentReader = componentReader;
+        }
+
+        @Override
+        Object readElements(JsonParser p, DeserializationContext ctxt, BitSet excludeIndexes) throws IOException {
+            Object[] rows = new Object[INITIAL_CAPACITY];
+            int size = 0;
+            int index = 0;
+            for (JsonToken token = p.nextToken(); token != JsonToken.END_ARRAY; token = p.nextToken(), index++) {
+                if (skip(p, token, index, excludeIndexes)) {
+                    continue;
+                }
+                if (size == rows.length) {
+                    rows = Arrays.copyOf(rows, size << 1);
+                }
+                rows[size++] = token == JsonToken.VALUE_NULL ? null : componentReader.read(p, ctxt, NO_INDEXES);
+            }
+
+            Object array = Array.newInstance(componentReader.getArrayClass(), size);
+            System.arraycopy(rows, 0, array, 0, size);
+            return array;
+        }
+    }
+
+    /**
+     * Reads one element of a boxed target, {@code null} included.
+     */
+    private enum BoxedElement {
+
+        INTEGER(Integer.class) {
+            @Override
+            Object read(JsonParser p, JsonToken token, DeserializationContext ctxt) throws IOException {
+                return token == JsonToken.VALUE_NUMBER_INT ? Integer.valueOf(p.getIntValue()) : ctxt.readValue(p, Integer.class);
+            }
+        },
+        LONG(Long.class) {
+            @Override
+            Object read(JsonParser p, JsonToken token, DeserializationContext ctxt) throws IOException {
+                return token == JsonToken.VALUE_NUMBER_INT ? Long.valueOf(p.getLongValue()) : ctxt.readValue(p, Long.class);
+            }
+        },
+        DOUBLE(Double.class) {
+            @Override
+            Object read(JsonParser p, JsonToken token, DeserializationContext ctxt) throws IOException {
+                return token.isNumeric() ? Double.valueOf(p.getDoubleValue()) : ctxt.readValue(p, Double.class);
+            }
+        };
+
+        private final Class<?> type;
+
+        BoxedElement(Class<?> type) {
+            this.type = type;
+        }
+
+        static BoxedElement of(Class<?> type) {
+            for (BoxedElement element : values()) {
+                if (element.type == type) {
+                    return element;
+                }
+            }
+            return null;
+        }
+
+        abstract Object read(JsonParser p, JsonToken token, DeserializationContext ctxt) throws IOException;
+    }
+
+    private static final class BoxedArray extends PrimitiveArrayReader {
+
+        private final BoxedElement element;
+
+        private BoxedArray(Class<?> arrayClass, BoxedElement element) {
+            super(arrayClass);
+            this.element = element;
+        }
+
+        @Override
+        Object readElements(JsonParser p, DeserializationContext ctxt, BitSet excludeIndexes) throws IOException {
+            Object[] values = new Object[INITIAL_CAPACITY];
+            int size = 0;
+            int index = 0;
+            for (JsonToken token = p.nextToken(); token != JsonToken.END_ARRAY; token = p.nextToken(), index++) {
+                if (skip(p, token, index, excludeIndexes)) {
+                    continue;
+                }
+                if (size == values.length) {
+                    values = Arrays.copyOf(values, size << 1);
+                }
+                values[size++] = token == JsonToken.VALUE_NULL ? null : element.read(p, token, ctxt);
+            }
+
+            Object array = Array.newInstance(element.type, size);
+            System.arraycopy(values, 0, array, 0, size);
+            return array;
+        }
+    }
+
+    /**
+     * Collection of boxed numbers, filled as the elements are read.
+     */
+    private static final class BoxedCollection extends PrimitiveArrayReader {
+
+        private final JavaType type;
+        private final BoxedElement element;
+
+        private BoxedCollection(JavaType type, BoxedElement element) {
+            super(type.getRawClass());
+            this.type = type;
+            this.element = element;
+        }
+
+        @Override
+        Object readOther(JsonParser p, DeserializationContext ctxt) throws IOException {
+            return ctxt.readValue(p, type);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Object readElements(JsonParser p, DeserializationContext ctxt, BitSet excludeIndexes) throws IOException {
+            Collection<Object> values = (Collection<Object>) Containers.newCollection(type.getRawClass(), INITIAL_CAPACITY);
+            int index = 0;
+            for (JsonToken token = p.nextToken(); token != JsonToken.END_ARRAY; token = p.nextToken(), index++) {
+                if (skip(p, token, index, excludeIndexes)) {
+                    continue;
+                }
+                values.add(token == JsonToken.VALUE_NULL ? null : element.read(p, token, ctxt));
+            }
+            return values;
+        }
+    }
+}
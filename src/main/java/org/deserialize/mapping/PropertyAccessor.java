@@ -0,0 +1,147 @@
+package org.deserialize.mapping;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Resolved read/write access to one bean property of a mapping target. Accessors are generated once per
+ * target class by {@link AccessorFactory} and cached.
+ */
+final class PropertyAccessor {
+
+    private static final Map<Class<?>, Map<String, PropertyAccessor>> PROPERTY_CACHE = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final Method readMethod;
+    private final Method writeMethod;
+    private final Function<Object, Object> getter;
+    private final BiConsumer<Object, Object> setter;
+    private final JavaType type;
+    // created on first use: only the intermediate beans of a chain are ever instantiated
+    private volatile Supplier<Object> constructor;
+    private volatile boolean constructorResolved;
+
+    private PropertyAccessor(String name, Method getter, Method setter, JavaType type) {
+        this.name = name;
+        this.readMethod = getter;
+        this.writeMethod = setter;
+        this.getter = getter != null ? AccessorFactory.getter(getter) : null;
+        this.setter = AccessorFactory.setter(setter);
+        this.type = type;
+    }
+
+    static Map<String, PropertyAccessor> forClass(Class<?> beanClass) throws MappingException {
+        Map<String, PropertyAccessor> properties = PROPERTY_CACHE.get(beanClass);
+        if (properties == null) {
+            properties = introspect(beanClass);
+            PROPERTY_CACHE.putIfAbsent(beanClass, properties);
+        }
+
+        return properties;
+    }
+
+    private static Map<String, PropertyAccessor> introspect(Class<?> beanClass) throws MappingException {
+        BeanInfo beanInfo;
+        try {
+            beanInfo = Introspector.getBeanInfo(beanClass, Object.class);
+        } catch (IntrospectionException e) {
+            throw new MappingException(String.format("Unable to introspect mapping target %s", beanClass.getName()), e);
+        }
+
+        Map<String, PropertyAccessor> properties = new LinkedHashMap<>();
+        for (PropertyDescriptor descriptor : beanInfo.getPropertyDescriptors()) {
+            Method setter = descriptor.getWriteMethod();
+            if (setter == null) {
+                continue;
+            }
+
+            JavaType type = TypeFactory.defaultInstance().constructType(setter.getGenericParameterTypes()[0]);
+            properties.put(descriptor.getName(), new PropertyAccessor(descriptor.getName(), descriptor.getReadMethod(), setter, type));
+        }
+
+        return Collections.unmodifiableMap(properties);
+    }
+
+    String getName() {
+        return name;
+    }
+
+    JavaType getType() {
+        return type;
+    }
+
+    Method getReadMethod() {
+        return readMethod;
+    }
+
+    Method getWriteMethod() {
+        return writeMethod;
+    }
+
+    boolean isReadable() {
+        return getter != null;
+    }
+
+    boolean isInstantiable() {
+        return constructor() != null;
+    }
+
+    Object get(Object bean) throws MappingException {
+        try {
+            return getter.apply(bean);
+        } catch (RuntimeException e) {
+            throw new MappingException(String.format("Unable to read property '%s'", name), e);
+        }
+    }
+
+    void set(Object bean, Object value) throws MappingException {
+        try {
+            setter.accept(bean, value);
+        } catch (RuntimeException e) {
+            throw new MappingException(String.format("Unable to write property '%s'", name), e);
+        }
+    }
+
+    /**
+     * Returns the current value of the property, creating and assigning an empty instance when it is null.
+     */
+    Object getOrCreate(Object bean) throws MappingException {
+        Object value = get(bean);
+        if (value == null) {
+            value = newInstance();
+            set(bean, value);
+        }
+
+        return value;
+    }
+
+    private Supplier<Object> constructor() {
+        if (!constructorResolved) {
+            // a race only generates the same constructor twice
+            constructor = AccessorFactory.constructor(type.getRawClass());
+            constructorResolved = true;
+        }
+        return constructor;
+    }
+
+    Object newInstance() throws MappingException {
+        try {
+            return constructor().get();
+        } catch (RuntimeException e) {
+            throw new MappingException(String.format("Unable to instantiate %s for property '%s'", type.getRawClass().getName(), name), e);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package org.deserialize.mapping;
+
+import com.fasterxml.jackson.databind.JavaType;
+
+import java.util.Map;
+
+/**
+ * A dotted target path such as {@code innerTest2.inner.id}, split and resolved once at compile time.
+ */
+final class PropertyChain {
+
+    private final String path;
+    private final PropertyAccessor[] accessors;
+
+    private PropertyChain(String path, PropertyAccessor[] accessors) {
+        this.path = path;
+        this.accessors = accessors;
+    }
+
+    static PropertyChain resolve(Class<?> rootClass, String path) throws MappingException {
+        if (path == null || path.isBlank()) {
+            throw new MappingException(String.format("Empty target property on %s", rootClass.getName()));
+        }
+
+        String[] segments = path.split("\\.");
+        PropertyAccessor[] accessors = new PropertyAccessor[segments.length];
+        Class<?> current = rootClass;
+        for (int i = 0; i < segments.length; i++) {
+            Map<String, PropertyAccessor> properties = PropertyAccessor.forClass(current);
+            PropertyAccessor accessor = properties.get(segments[i]);
+            if (accessor == null) {
+                throw new MappingException(String.format("Unknown target property '%s' of '%s' on %s", segments[i], path, current.getName()));
+            }
+
+            boolean intermediate = i < segments.length - 1;
+            if (intermediate && (!accessor.isReadable() || !accessor.isInstantiable())) {
+                throw new MappingException(String.format("Target property '%s' of '%s' must be readable and instantiable", segments[i], path));
+            }
+
+            accessors[i] = accessor;
+            current = accessor.getType().getRawClass();
+        }
+
+        return new PropertyChain(path, accessors);
+    }
+
+    static PropertyChain of(PropertyAccessor accessor) {
+        return new PropertyChain(accessor.getName(), new PropertyAccessor[]{accessor});
+    }
+
+    String getPath() {
+        return path;
+    }
+
+    PropertyAccessor[] getAccessors() {
+        return accessors;
+    }
+
+    String getRootProperty() {
+        return accessors[0].getName();
+    }
+
+    JavaType getType() {
+        return accessors[accessors.length - 1].getType();
+    }
+
+    /**
+     * @return the value at the end of the chain, {@code null} when it or one of the beans on the way is null
+     */
+    Object get(Object root) throws MappingException {
+        Object bean = root;
+        for (int i = 0; i < accessors.length && bean != null; i++) {
+            bean = accessors[i].get(bean);
+        }
+
+        return bean;
+    }
+
+    boolean isReadable() {
+        for (PropertyAccessor accessor : accessors) {
+            if (!accessor.isReadable()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    void set(Object root, Object value) throws MappingException {
+        Object bean = root;
+        int last = accessors.length - 1;
+        for (int i = 0; i < last; i++) {
+            bean = accessors[i].getOrCreate(bean);
+        }
+
+        accessors[last].set(bean, value);
+    }
+}
@@ -0,0 +1,169 @@
+package org.deserialize.mapping;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reverse of a {@link MappingPlan}: writes a mapped object in the external shape of its mapping resource, one
+ * source node per json field, reading every value straight from the target bean while generating.
+ * <p>
+ * The first binding of a source node gives its value; {@code format} entries are written with their pattern and
+ * nested {@code mapping}/{@code indexMapping} entries with the writer of their plan, indexed by target position.
+ * Header entries are not part of the body and {@code excludeIndexes}/{@code excludeProperties} have nothing to
+ * restore, so the shape written is the mapped subset of the source document.
+ */
+final class ShapeWriter {
+
+    private final SerializedString[] names;
+    private final FieldWriter[] fields;
+
+    private ShapeWriter(List<SerializedString> names, List<FieldWriter> fields) {
+        this.names = names.toArray(SerializedString[]::new);
+        this.fields = fields.toArray(FieldWriter[]::new);
+    }
+
+    /**
+     * Use {@link MappingRegistry#getShapeWriter(MappingPlan)}, which shares the writers of shared plans.
+     */
+    static ShapeWriter compile(MappingPlan plan) throws MappingException {
+        ShapeWriter writer = compileGroup(plan, plan.getRoot());
+        if (plan.getUnmappedBindings().isEmpty()) {
+            return writer;
+        }
+
+        List<SerializedString> names = new ArrayList<>(List.of(writer.names));
+        List<FieldWriter> fields = new ArrayList<>(List.of(writer.fields));
+        for (Map.Entry<String, TargetBinding> unmapped : plan.getUnmappedBindings().entrySet()) {
+            if (plan.getRoot().getChild(unmapped.getKey()) == null) {
+                names.add(new SerializedString(unmapped.getKey()));
+                fields.add(compileBinding(unmapped.getValue()));
+            }
+        }
+
+        return new ShapeWriter(names, fields);
+    }
+
+    private static ShapeWriter compileGroup(MappingPlan plan, SourceNode node) throws MappingException {
+        List<SerializedString> names = new ArrayList<>();
+        List<FieldWriter> fields = new ArrayList<>();
+        for (Map.Entry<String, SourceNode> child : node.getChildren().entrySet()) {
+            SourceNode childNode = child.getValue();
+            FieldWriter field;
+            if (childNode.getBindings().length > 0) {
+                field = compileBinding(childNode.getBindings()[0]);
+            } else if (childNode.hasChildren()) {
+                ShapeWriter group = compileGroup(plan, childNode);
+                field = group::writeObject;
+            } else {
+                continue;
+            }
+
+            names.add(new SerializedString(child.getKey()));
+            fields.add(field);
+        }
+
+        return new ShapeWriter(names, fields);
+    }
+
+    private static FieldWriter compileBinding(TargetBinding binding) throws MappingException {
+        PropertyChain target = binding.getTarget();
+        if (!target.isReadable()) {
+            throw new MappingException(String.format("Property '%s' mapped from '%s' has no getter", target.getPath(), binding.getSourcePath()));
+        }
+
+        ValueWriter valueWriter = compileValue(binding);
+        return (bean, gen, provider) -> {
+            Object value = target.get(bean);
+            if (value == null) {
+                gen.writeNull();
+            } else {
+                valueWriter.write(value, gen, provider);
+            }
+        };
+    }
+
+    private static ValueWriter compileValue(TargetBinding binding) throws MappingException {
+        if (binding.getFormat() != null) {
+            DateTimeFormatter formatter = TemporalConverters.formatter(binding.getFormat());
+            return (value, gen, provider) -> gen.writeString(format(formatter, value, binding));
+        }
+
+        boolean elements = binding.getType().isContainerType() && !binding.getType().isMapLikeType();
+        if (binding.getValuePlan() == null && (!elements || binding.getIndexPlans().isEmpty())) {
+            return (value, gen, provider) -> provider.defaultSerializeValue(value, gen);
+        }
+
+        if (!elements) {
+            ShapeWriter writer = MappingRegistry.getShapeWriter(binding.getValuePlan());
+            return (value, gen, provider) -> writer.writeObject(value, gen, provider);
+        }
+
+        ShapeWriter valueWriter = binding.getValuePlan() != null ? MappingRegistry.getShapeWriter(binding.getValuePlan()) : null;
+        BitSet overriddenIndexes = new BitSet();
+        binding.getIndexPlans().keySet().forEach(overriddenIndexes::set);
+        ShapeWriter[] indexWriters = new ShapeWriter[overriddenIndexes.length()];
+        for (Map.Entry<Integer, MappingPlan> indexPlan : binding.getIndexPlans().entrySet()) {
+            indexWriters[indexPlan.getKey()] = indexPlan.getValue() != null ? MappingRegistry.getShapeWriter(indexPlan.getValue()) : null;
+        }
+
+        return (value, gen, provider) -> {
+            gen.writeStartArray();
+            int index = 0;
+            for (Object element : value instanceof Collection ? (Collection<?>) value : Arrays.asList((Object[]) value)) {
+                ShapeWriter elementWriter = overriddenIndexes.get(index) ? indexWriters[index] : valueWriter;
+                if (element == null) {
+                    gen.writeNull();
+                } else if (elementWriter != null) {
+                    elementWriter.writeObject(element, gen, provider);
+                } else {
+                    provider.defaultSerializeValue(element, gen);
+                }
+                index++;
+            }
+            gen.writeEndArray();
+        };
+    }
+
+    private static String format(DateTimeFormatter formatter, Object value, TargetBinding binding) throws MappingException {
+        try {
+            return formatter.format(value instanceof Date ? ((Date) value).toInstant() : (TemporalAccessor) value);
+        } catch (DateTimeException | ClassCastException e) {
+            throw new MappingException(String.format("Cannot format '%s' of '%s' with format '%s'",
+                    binding.getTarget().getPath(), binding.getSourcePath(), binding.getFormat()), e);
+        }
+    }
+
+    void writeObject(Object bean, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(bean);
+        for (int i = 0; i < fields.length; i++) {
+            gen.writeFieldName(names[i]);
+            fields[i].write(bean, gen, provider);
+        }
+        gen.writeEndObject();
+    }
+
+    @FunctionalInterface
+    private interface FieldWriter {
+
+        void write(Object bean, JsonGenerator gen, SerializerProvider provider) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface ValueWriter {
+
+        void write(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException;
+    }
+}
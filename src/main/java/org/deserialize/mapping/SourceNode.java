@@ -0,0 +1,105 @@
+package org.deserialize.mapping;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Node of the source path trie: one field name of the incoming document, the bindings fed by its value
+ * and the nested fields below it.
+ */
+final class SourceNode {
+
+    private static final TargetBinding[] NO_BINDINGS = new TargetBinding[0];
+
+    private final String path;
+    private final Map<String, SourceNode> children;
+    private final FieldTable<SourceNode> childTable;
+    private final TargetBinding[] bindings;
+    private final long[] requiredMask;
+
+    private SourceNode(String path, Map<String, SourceNode> children, TargetBinding[] bindings, long[] requiredMask) {
+        this.path = path;
+        this.children = children;
+        this.childTable = FieldTable.of(children);
+        this.bindings = bindings;
+        this.requiredMask = requiredMask;
+    }
+
+    String getPath() {
+        return path;
+    }
+
+    SourceNode getChild(String fieldName) {
+        return childTable.get(fieldName);
+    }
+
+    /**
+     * Child nodes in mapping file order.
+     */
+    Map<String, SourceNode> getChildren() {
+        return children;
+    }
+
+    boolean hasChildren() {
+        return !children.isEmpty();
+    }
+
+    TargetBinding[] getBindings() {
+        return bindings;
+    }
+
+    /**
+     * {@link CompletionBits} of the required bindings without default value of this node and the nodes below it:
+     * once the object of the node is consumed they can no longer be supplied.
+     */
+    long[] getRequiredMask() {
+        return requiredMask;
+    }
+
+    static final class Builder {
+
+        private final String path;
+        private final Map<String, Builder> children = new LinkedHashMap<>();
+        private final List<TargetBinding> bindings = new ArrayList<>();
+
+        Builder(String path) {
+            this.path = path;
+        }
+
+        String getPath() {
+            return path;
+        }
+
+        Builder child(String fieldName) {
+            return children.computeIfAbsent(fieldName, name -> new Builder(path == null ? name : path + MappingKeys.PATH_SEPARATOR + name));
+        }
+
+        void bind(TargetBinding binding) {
+            bindings.add(binding);
+        }
+
+        SourceNode build() {
+            Map<String, SourceNode> builtChildren = new LinkedHashMap<>();
+            children.forEach((name, child) -> builtChildren.put(name, child.build()));
+
+            BitSet required = new BitSet();
+            for (TargetBinding binding : bindings) {
+                if (binding.isRequired() && binding.getDefaultValue() == null) {
+                    required.set(binding.getCompletionIndex());
+                }
+            }
+            for (SourceNode child : builtChildren.values()) {
+                required.or(BitSet.valueOf(child.getRequiredMask()));
+            }
+
+            return new SourceNode(path,
+                    builtChildren.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(builtChildren),
+                    bindings.isEmpty() ? NO_BINDINGS : bindings.toArray(TargetBinding[]::new),
+                    required.isEmpty() ? CompletionBits.EMPTY : required.toLongArray());
+        }
+    }
+}
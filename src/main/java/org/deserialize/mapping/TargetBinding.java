@@ -0,0 +1,152 @@
+package org.deserialize.mapping;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.BitSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compiled form of one mapping entry: where a source value goes and how it is converted on the way.
+ */
+final class TargetBinding {
+
+    private final String sourcePath;
+    private final PropertyChain target;
+    private final MappingPlan valuePlan;
+    private final Map<Integer, MappingPlan> indexPlans;
+    private final Set<Integer> excludeIndexes;
+    private final BitSet excludedIndexes;
+    private final BitSet overriddenIndexes;
+    private final MappingPlan[] indexPlanTable;
+    private final Set<String> excludeProperties;
+    private final boolean required;
+    private final JsonNode defaultValue;
+    private final String format;
+    private final boolean lazy;
+    private final int completionIndex;
+    private final PrimitiveArrayReader primitiveArrayReader;
+    private final ValueConverter converter;
+
+    TargetBinding(String sourcePath, PropertyChain target, MappingPlan valuePlan, Map<Integer, MappingPlan> indexPlans,
+                  Set<Integer> excludeIndexes, Set<String> excludeProperties, boolean required, JsonNode defaultValue,
+                  String format, boolean lazy, int completionIndex) throws MappingException {
+        this.sourcePath = sourcePath;
+        this.target = target;
+        this.valuePlan = valuePlan;
+        this.indexPlans = indexPlans;
+        this.excludeIndexes = excludeIndexes;
+        this.excludedIndexes = new BitSet();
+        excludeIndexes.forEach(excludedIndexes::set);
+        this.overriddenIndexes = new BitSet();
+        indexPlans.keySet().forEach(overriddenIndexes::set);
+        this.indexPlanTable = new MappingPlan[overriddenIndexes.length()];
+        indexPlans.forEach((index, plan) -> indexPlanTable[index] = plan);
+        this.excludeProperties = excludeProperties;
+        this.required = required;
+        this.defaultValue = defaultValue;
+        this.format = format;
+        this.lazy = lazy;
+        this.completionIndex = required || defaultValue != null ? completionIndex : -1;
+        this.primitiveArrayReader = PrimitiveArrayReader.forType(target.getType());
+        this.converter = TemporalConverters.forType(target.getType().getRawClass(), format);
+    }
+
+    static TargetBinding direct(String sourcePath, PropertyChain target) throws MappingException {
+        return new TargetBinding(sourcePath, target, null, Map.of(), Set.of(), Set.of(), false, null, null, false, -1);
+    }
+
+    String getSourcePath() {
+        return sourcePath;
+    }
+
+    PropertyChain getTarget() {
+        return target;
+    }
+
+    JavaType getType() {
+        return target.getType();
+    }
+
+    /**
+     * Plan applied to every element of a container target, or to the value itself for a bean target.
+     */
+    MappingPlan getValuePlan() {
+        return valuePlan;
+    }
+
+    Map<Integer, MappingPlan> getIndexPlans() {
+        return indexPlans;
+    }
+
+    Set<Integer> getExcludeIndexes() {
+        return excludeIndexes;
+    }
+
+    /**
+     * {@code excludeIndexes} as a bit set, so that excluding an element costs one bit test.
+     */
+    BitSet getExcludedIndexes() {
+        return excludedIndexes;
+    }
+
+    /**
+     * Plan of the element at {@code index}: the {@code indexMapping} override, looked up in a dense table, or the
+     * plan of every element. {@code null} converts the element as is.
+     */
+    MappingPlan getElementPlan(int index) {
+        return overriddenIndexes.get(index) ? indexPlanTable[index] : valuePlan;
+    }
+
+    Set<String> getExcludeProperties() {
+        return excludeProperties;
+    }
+
+    boolean isRequired() {
+        return required;
+    }
+
+    JsonNode getDefaultValue() {
+        return defaultValue;
+    }
+
+    /**
+     * Declared {@code format} of the entry, {@code null} when absent.
+     */
+    String getFormat() {
+        return format;
+    }
+
+    /**
+     * Bit of the binding in the {@link CompletionBits} of its plan, {@code -1} unless it is required or has a default value.
+     */
+    int getCompletionIndex() {
+        return completionIndex;
+    }
+
+    /**
+     * Object values are captured and mapped on first use, see {@link LazyValues}.
+     */
+    boolean isLazy() {
+        return lazy;
+    }
+
+    /**
+     * Specialized conversion of the value resolved from target type and format, {@code null} for the generic one.
+     */
+    ValueConverter getConverter() {
+        return converter;
+    }
+
+    /**
+     * Reader of {@code int[]}, {@code long[]}, {@code double[]} targets and arrays of them, {@code null} for other types.
+     */
+    PrimitiveArrayReader getPrimitiveArrayReader() {
+        return primitiveArrayReader;
+    }
+
+    boolean isElementMapped() {
+        return valuePlan != null || !indexPlans.isEmpty() || !excludeIndexes.isEmpty();
+    }
+}
@@ -0,0 +1,143 @@
+package org.deserialize.mapping;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Temporal converters picked at compile time from the target type and the {@code format} of the mapping entry.
+ * <p>
+ * {@link Date} targets read integer values as epoch millis without going through the generic date deserializer.
+ * With a {@code format}, string values are parsed with a single {@link DateTimeFormatter}, cached per pattern and
+ * shared by every mapping; values are adjusted to UTC, and read as UTC when they carry no zone, as Jackson does by
+ * default. Any other token is left to the regular Jackson deserializer of the target type.
+ */
+final class TemporalConverters {
+
+    private static final Map<String, DateTimeFormatter> FORMATTERS = new ConcurrentHashMap<>();
+
+    private TemporalConverters() {}
+
+    /**
+     * @return the converter of the target type, {@code null} when the type needs no specialized conversion
+     * @throws MappingException when a format is declared for a type that is not temporal
+     */
+    static ValueConverter forType(Class<?> type, String format) throws MappingException {
+        if (format == null) {
+            return type == Date.class ? TemporalConverters::readEpochMillisDate : null;
+        }
+
+        DateTimeFormatter formatter = formatter(format);
+        if (type == Date.class) {
+            return (p, ctxt) -> p.currentToken() == JsonToken.VALUE_NUMBER_INT
+                    ? new Date(p.getLongValue())
+                    : parse(p, ctxt, type, format, text -> Date.from(toInstant(formatter.parse(text))));
+        }
+        if (type == Instant.class) {
+            return (p, ctxt) -> parse(p, ctxt, type, format, text -> toInstant(formatter.parse(text)));
+        }
+        if (type == LocalDate.class) {
+            return (p, ctxt) -> parse(p, ctxt, type, format, text -> LocalDate.parse(text, formatter));
+        }
+        if (type == LocalDateTime.class) {
+            return (p, ctxt) -> parse(p, ctxt, type, format, text -> LocalDateTime.parse(text, formatter));
+        }
+        if (type == LocalTime.class) {
+            return (p, ctxt) -> parse(p, ctxt, type, format, text -> LocalTime.parse(text, formatter));
+        }
+        if (type == ZonedDateTime.class) {
+            return (p, ctxt) -> parse(p, ctxt, type, format, text -> ZonedDateTime.parse(text, formatter));
+        }
+        if (type == OffsetDateTime.class) {
+            return (p, ctxt) -> parse(p, ctxt, type, format, text -> OffsetDateTime.parse(text, formatter));
+        }
+
+        throw new MappingException(String.format("Format '%s' is not applicable to %s", format, type.getName()));
+    }
+
+    /**
+     * Formatter of a {@code format} pattern, shared with the converters; values are written in UTC.
+     */
+    static DateTimeFormatter formatter(String pattern) throws MappingException {
+        DateTimeFormatter formatter = FORMATTERS.get(pattern);
+        if (formatter == null) {
+            try {
+                formatter = DateTimeFormatter.ofPattern(pattern).withZone(ZoneOffset.UTC);
+            } catch (IllegalArgumentException e) {
+                throw new MappingException(String.format("Invalid date time format '%s'", pattern), e);
+            }
+            DateTimeFormatter existing = FORMATTERS.putIfAbsent(pattern, formatter);
+            if (existing != null) {
+                formatter = existing;
+            }
+        }
+
+        return formatter;
+    }
+
+    private static Object readEpochMillisDate(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+            return new Date(p.getLongValue());
+        }
+
+        return ctxt.readValue(p, Date.class);
+    }
+
+    private static Object parse(JsonParser p, DeserializationContext ctxt, Class<?> type, String format,
+                                TextParser textParser) throws IOException {
+        if (p.currentToken() != JsonToken.VALUE_STRING) {
+            return ctxt.readValue(p, type);
+        }
+
+        String text = p.getText().trim();
+        if (text.isEmpty()) {
+            return null;
+        }
+
+        try {
+            return textParser.parse(text);
+        } catch (DateTimeException e) {
+            throw new MappingException(String.format("Cannot parse '%s' as %s with format '%s'", text, type.getSimpleName(), format), e);
+        }
+    }
+
+    /**
+     * Instant of a parsed value: date only patterns start at midnight, values without zone are UTC.
+     */
+    private static Instant toInstant(TemporalAccessor parsed) {
+        if (parsed.isSupported(ChronoField.INSTANT_SECONDS)) {
+            return Instant.from(parsed);
+        }
+
+        LocalDate date = parsed.query(TemporalQueries.localDate());
+        if (date == null) {
+            return Instant.from(parsed);
+        }
+
+        LocalTime time = parsed.query(TemporalQueries.localTime());
+        return (time != null ? date.atTime(time) : date.atStartOfDay()).toInstant(ZoneOffset.UTC);
+    }
+
+    @FunctionalInterface
+    private interface TextParser {
+
+        Object parse(String text);
+    }
+}
@@ -0,0 +1,17 @@
+package org.deserialize.mapping;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+
+import java.io.IOException;
+
+/**
+ * Conversion of a non null source value to its target type, resolved once per binding when the mapping is compiled.
+ */
+public interface ValueConverter {
+
+    /**
+     * Converts the value the parser is on, leaving the parser on its last token.
+     */
+    Object convert(JsonParser p, DeserializationContext ctxt) throws IOException;
+}
@@ -16,17 +16,24 @@ import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
 import org.springframework.util.StopWatch;
 import org.springframework.util.StreamUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 import org.springframework.web.util.ContentCachingResponseWrapper;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Slf4j
@@ -35,65 +42,86 @@ import java.util.UUID;
 @WebFilter(filterName = "ContentCachingFilter", urlPatterns = "/*")
 public class RequestFilter extends OncePerRequestFilter {
 
+    private static final String STREAMED_BODY = "<streamed>";
+
     @Autowired
     private ApplicationProperties applicationProperties;
 
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    // path patterns of the routes consuming or producing ndjson, collected once from the handler mapping
+    private Set<String> streamingPatterns = Set.of();
+
+    @Autowired
+    void setRequestMappingHandlerMapping(RequestMappingHandlerMapping requestMappingHandlerMapping) {
+        Set<String> patterns = new HashSet<>();
+        for (RequestMappingInfo mappingInfo : requestMappingHandlerMapping.getHandlerMethods().keySet()) {
+            if (mappingInfo.getConsumesCondition().getConsumableMediaTypes().contains(MediaType.APPLICATION_NDJSON)
+                    || mappingInfo.getProducesCondition().getProducibleMediaTypes().contains(MediaType.APPLICATION_NDJSON)) {
+                patterns.addAll(mappingInfo.getPatternValues());
+            }
+        }
+        this.streamingPatterns = Set.copyOf(patterns);
+    }
+
     @SneakyThrows
     @Override
     protected void doFilterInternal(HttpServletRequest httpServletRequest, HttpServletResponse httpServletResponse, FilterChain filterChain) throws ServletException, IOException {
 
-        CachedBodyHttpServletRequest cachedBodyHttpServletRequest = new CachedBodyHttpServletRequest(httpServletRequest);
-        ContentCachingResponseWrapper responseCacheWrapperObject = new ContentCachingResponseWrapper(httpServletResponse);
+        boolean streaming = isStreamingRequest(httpServletRequest);
+        CachedBodyHttpServletRequest cachedBodyHttpServletRequest = streaming ? null : new CachedBodyHttpServletRequest(httpServletRequest);
+        ContentCachingResponseWrapper responseCacheWrapperObject = streaming ? null : new ContentCachingResponseWrapper(httpServletResponse);
+        HttpServletRequest request = streaming ? httpServletRequest : cachedBodyHttpServletRequest;
 
         MDC.clear();
-        String requestTransactionId = cachedBodyHttpServletRequest.getHeader(LabelUtils.TRANSACTION_ID);
+        String requestTransactionId = request.getHeader(LabelUtils.TRANSACTION_ID);
         if (requestTransactionId == null || requestTransactionId.isBlank()) {
             requestTransactionId = UUID.randomUUID().toString();
-            cachedBodyHttpServletRequest.putHeader(LabelUtils.TRANSACTION_ID, requestTransactionId);
+            if (cachedBodyHttpServletRequest != null) {
+                cachedBodyHttpServletRequest.putHeader(LabelUtils.TRANSACTION_ID, requestTransactionId);
+            }
         }
 
         Map<String, String> requestHeaderMap = new HashMap<>();
 
-        for (String headerName : Collections.list(cachedBodyHttpServletRequest.getHeaderNames())) {
-            requestHeaderMap.put(headerName, cachedBodyHttpServletRequest.getHeader(headerName));
+        for (String headerName : Collections.list(request.getHeaderNames())) {
+            requestHeaderMap.put(headerName, request.getHeader(headerName));
         }
 
-        String requestUrl = cachedBodyHttpServletRequest.getRequestURL() + (StringUtils.isNotBlank(cachedBodyHttpServletRequest.getQueryString()) ? "?" + cachedBodyHttpServletRequest.getQueryString() : "");
-        String requestBodyAsString = StreamUtils.copyToString(cachedBodyHttpServletRequest.getInputStream(), StandardCharsets.UTF_8);
+        String requestUrl = request.getRequestURL() + (StringUtils.isNotBlank(request.getQueryString()) ? "?" + request.getQueryString() : "");
+        String requestBodyAsString = streaming ? STREAMED_BODY : StreamUtils.copyToString(request.getInputStream(), StandardCharsets.UTF_8);
 
-        MDC.put(LabelUtils.TRANSACTION_ID, requestTransactionId);
-        MDC.put(LabelUtils.SPAN_ID, UUID.randomUUID().toString().replace("-", "").substring(0, 8));
-        MDC.put(LabelUtils.MODULE_ID, applicationProperties.getName());
-        MDC.put(LabelUtils.CONTAINER, applicationProperties.getContainer());
-        MDC.put(LabelUtils.NAMESPACE, applicationProperties.getNamespace());
-        MDC.put(LabelUtils.VERSION, applicationProperties.getVersion());
+        putMdc(requestTransactionId);
 
         log.info(LabelUtils.LOG_CLIENT_REQUEST,
                 requestUrl,
-                cachedBodyHttpServletRequest.getMethod(),
+                request.getMethod(),
                 requestHeaderMap,
                 !requestBodyAsString.isBlank() ? ApplicationContextUtils.replaceContextLineSeparator(requestBodyAsString) : "");
 
         StopWatch stopWatch = new StopWatch();
         stopWatch.start("Request Filter - doFilter method");
 
-        filterChain.doFilter(cachedBodyHttpServletRequest, responseCacheWrapperObject);
+        filterChain.doFilter(request, streaming ? httpServletResponse : responseCacheWrapperObject);
 
         stopWatch.stop();
 
         Map<String, String> responseHeaderMap = new HashMap<>();
+        String responseBodyAsString = STREAMED_BODY;
 
-        for (String headerName : responseCacheWrapperObject.getHeaderNames()) {
-            responseHeaderMap.put(headerName, cachedBodyHttpServletRequest.getHeader(headerName));
-        }
+        if (!streaming) {
+            for (String headerName : responseCacheWrapperObject.getHeaderNames()) {
+                responseHeaderMap.put(headerName, request.getHeader(headerName));
+            }
 
-        String responseBodyAsString = new String(responseCacheWrapperObject.getContentAsByteArray(), StandardCharsets.UTF_8);
+            responseBodyAsString = new String(responseCacheWrapperObject.getContentAsByteArray(), StandardCharsets.UTF_8);
 
-        responseCacheWrapperObject.copyBodyToResponse();
+            responseCacheWrapperObject.copyBodyToResponse();
+        }
 
         log.info(LabelUtils.LOG_CLIENT_REQUEST_RESPONSE,
                 requestUrl,
-                cachedBodyHttpServletRequest.getMethod(),
+                request.getMethod(),
                 requestHeaderMap,
                 stopWatch.getTotalTimeMillis() + "ms",
                 !requestBodyAsString.isBlank() ? ApplicationContextUtils.replaceContextLineSeparator(requestBodyAsString) : "",
@@ -101,4 +129,37 @@ public class RequestFilter extends OncePerRequestFilter {
                 responseHeaderMap,
                 !responseBodyAsString.isBlank() ? ApplicationContextUtils.replaceContextLineSeparator(responseBodyAsString) : "");
     }
+
+    /**
+     * Ndjson bodies, and the routes mapped as consuming or producing ndjson, are streamed straight to the controller:
+     * request and response are neither cached nor logged with their body. The routes are matched by path against the
+     * patterns collected at startup, without a handler lookup per request.
+     */
+    private boolean isStreamingRequest(HttpServletRequest httpServletRequest) {
+        String contentType = httpServletRequest.getContentType();
+        if (contentType != null && contentType.startsWith(MediaType.APPLICATION_NDJSON_VALUE)) {
+            return true;
+        }
+
+        if (streamingPatterns.isEmpty()) {
+            return false;
+        }
+
+        String path = httpServletRequest.getRequestURI().substring(httpServletRequest.getContextPath().length());
+        for (String pattern : streamingPatterns) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void putMdc(String requestTransactionId) {
+        MDC.put(LabelUtils.TRANSACTION_ID, requestTransactionId);
+        MDC.put(LabelUtils.SPAN_ID, UUID.randomUUID().toString().replace("-", "").substring(0, 8));
+        MDC.put(LabelUtils.MODULE_ID, applicationProperties.getName());
+        MDC.put(LabelUtils.CONTAINER, applicationProperties.getContainer());
+        MDC.put(LabelUtils.NAMESPACE, applicationProperties.getNamespace());
+        MDC.put(LabelUtils.VERSION, applicationProperties.getVersion());
+    }
 }
@@ -4,8 +4,8 @@ import com.enelx.bfw.framework.exception.BfwException;
 import com.enelx.bfw.framework.security.jwt.impl.JwtHeader;
 import com.enelx.bfw.framework.security.jwt.impl.JwtPayload;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.Getter;
+import org.deserialize.utils.ObjectMapperRegistry;
 
 import java.io.IOException;
 import java.lang.reflect.ParameterizedType;
@@ -23,7 +23,6 @@ public abstract class Jwt<H extends JwtHeader, P extends JwtPayload> {
 
     private static final Base64.Decoder decoder = Base64.getUrlDecoder();
     private static final Base64.Encoder encoder = Base64.getUrlEncoder();
-    private static final ObjectMapper mapper = new ObjectMapper();
 
     private String encodedHeader;
     private String encodedPayload;
@@ -57,15 +56,15 @@ public abstract class Jwt<H extends JwtHeader, P extends JwtPayload> {
 
         // header and value object
         ParameterizedType genericSuperclass = (ParameterizedType) getClass().getGenericSuperclass();
-        header = mapper.readValue(decoder.decode(encodedHeader), (Class<H>) genericSuperclass.getActualTypeArguments()[0]);
-        payload = mapper.readValue(decoder.decode(encodedPayload), (Class<P>) genericSuperclass.getActualTypeArguments()[1]);
+        header = ObjectMapperRegistry.reader((Class<?>) genericSuperclass.getActualTypeArguments()[0]).readValue(decoder.decode(encodedHeader));
+        payload = ObjectMapperRegistry.reader((Class<?>) genericSuperclass.getActualTypeArguments()[1]).readValue(decoder.decode(encodedPayload));
     }
 
     public void setHeader(H header) throws JsonProcessingException {
         this.header = header;
 
         if (header != null) {
-            encodedHeader = encoder.withoutPadding().encodeToString(mapper.writeValueAsString(header).getBytes(StandardCharsets.UTF_8));
+            encodedHeader = encoder.withoutPadding().encodeToString(ObjectMapperRegistry.writer().writeValueAsString(header).getBytes(StandardCharsets.UTF_8));
         } else {
             encodedHeader = null;
         }
@@ -75,7 +74,7 @@ public abstract class Jwt<H extends JwtHeader, P extends JwtPayload> {
         this.payload = payload;
 
         if (payload != null)  {
-            encodedPayload = encoder.withoutPadding().encodeToString(mapper.writeValueAsString(payload).getBytes(StandardCharsets.UTF_8));
+            encodedPayload = encoder.withoutPadding().encodeToString(ObjectMapperRegistry.writer().writeValueAsString(payload).getBytes(StandardCharsets.UTF_8));
         } else {
             encodedPayload = null;
         }
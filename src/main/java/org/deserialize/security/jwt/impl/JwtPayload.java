@@ -4,7 +4,6 @@ import com.enelx.bfw.framework.security.jwt.JwtKeys;
 import com.fasterxml.jackson.annotation.JsonAnyGetter;
 import com.fasterxml.jackson.annotation.JsonAnySetter;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
@@ -17,8 +16,6 @@ import java.util.Map;
 @Setter
 public class JwtPayload {
 
-    private final static ObjectMapper mapper = new ObjectMapper();
-
     @JsonProperty(JwtKeys.PayloadClaim.ISSUER)
     protected String issuer;
 
@@ -1,10 +1,10 @@
 package com.enel.eic.commons.security.validation;
 
 import com.enel.eic.commons.exception.CommonsException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.apache.commons.lang3.StringUtils;
+import org.deserialize.utils.ObjectMapperRegistry;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
@@ -17,8 +17,6 @@ import java.util.Map;
 @Component
 public class SecurityRequestInterceptor implements HandlerInterceptor {
 
-    private static final ObjectMapper mapper = new ObjectMapper();
-
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object object) throws Exception {
         if (!(object instanceof HandlerMethod handlerMethod)) {
@@ -41,7 +39,7 @@ public class SecurityRequestInterceptor implements HandlerInterceptor {
 
             response.setHeader(HttpHeaders.CONTENT_TYPE, "application/json");
             response.setStatus(HttpStatus.UNAUTHORIZED.value());
-            response.getOutputStream().print(mapper.writeValueAsString(unauthorizedResponse));
+            response.getOutputStream().print(ObjectMapperRegistry.writer().writeValueAsString(unauthorizedResponse));
 
             return false;
         }
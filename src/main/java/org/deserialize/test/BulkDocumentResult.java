@@ -0,0 +1,43 @@
+package org.deserialize.test;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkDocumentResult {
+
+    private long index;
+    private Test document;
+    private String error;
+
+    public BulkDocumentResult() {}
+
+    public BulkDocumentResult(long index, Test document, String error) {
+        this.index = index;
+        this.document = document;
+        this.error = error;
+    }
+
+    public long getIndex() {
+        return index;
+    }
+
+    public void setIndex(long index) {
+        this.index = index;
+    }
+
+    public Test getDocument() {
+        return document;
+    }
+
+    public void setDocument(Test document) {
+        this.document = document;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
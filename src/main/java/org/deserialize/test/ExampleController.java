@@ -1,27 +1,105 @@
 package org.deserialize.test;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.deserialize.dbconnection.GenericService;
 import org.deserialize.dbconnection.SimpleEntity;
+import org.deserialize.mapping.MappingBulkReader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
 public class ExampleController {
 
+    private static final int BULK_FLUSH_INTERVAL = 100;
+
     @Autowired
     private GenericService genericService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TestSerializer testSerializer;
+
     @PostMapping("test/json/object")
     public ResponseEntity<Test> test(@RequestBody Test test) {
         return new ResponseEntity<>(test, HttpStatus.OK);
     }
 
+    /**
+     * Maps a {@link Test} document and answers with it written back in the external shape of its mapping file.
+     */
+    @PostMapping(value = "test/json/object/external", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> testExternal(@RequestBody Test test) {
+        return new ResponseEntity<>(outputStream -> testSerializer.writeTo(objectMapper, test, outputStream), HttpStatus.OK);
+    }
+
+    /**
+     * Maps a json array or a newline delimited stream of {@link Test} documents one by one and answers with one
+     * ndjson line per document, carrying either the mapped document or its error.
+     * <p>
+     * The documents are mapped on the async thread writing the response, bound to the request so that the header
+     * entries of the mapping still resolve.
+     */
+    @PostMapping(value = "test/json/bulk",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> testBulk(InputStream body) {
+        MappingBulkReader<Test> bulkReader = new MappingBulkReader<>(objectMapper, Test.class);
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+
+        StreamingResponseBody response = outputStream -> {
+            RequestContextHolder.setRequestAttributes(requestAttributes);
+            try (SequenceWriter writer = objectMapper.writer()
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .withRootValueSeparator("\n")
+                    .writeValues(outputStream)) {
+                try {
+                    bulkReader.read(body, new MappingBulkReader.Listener<>() {
+                        @Override
+                        public void onDocument(long index, Test document) throws IOException {
+                            writeBulkResult(writer, new BulkDocumentResult(index, document, null));
+                        }
+
+                        @Override
+                        public void onError(long index, Exception error) throws IOException {
+                            writeBulkResult(writer, new BulkDocumentResult(index, null, error.getMessage()));
+                        }
+                    });
+                } catch (JsonProcessingException e) {
+                    // malformed document array, the remaining documents cannot be located
+                    writer.write(new BulkDocumentResult(-1, null, e.getMessage()));
+                }
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        };
+
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    private static void writeBulkResult(SequenceWriter writer, BulkDocumentResult result) throws IOException {
+        writer.write(result);
+        if ((result.getIndex() + 1) % BULK_FLUSH_INTERVAL == 0) {
+            writer.flush();
+        }
+    }
+
     @PostMapping("find/session-factory-from-jpa/simpledto")
     public ResponseEntity<List<SimpleEntity>> findAllSessionFactoryFromJPA() {
         return new ResponseEntity<>(genericService.findAllSessionFactoryFromJPA(), HttpStatus.OK);
@@ -1,15 +1,14 @@
 package org.deserialize.test;
 
-import com.deserialize.mapping.main.AbstractDeserializeMapping;
+import org.deserialize.mapping.AbstractCompiledMapping;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.net.URISyntaxException;
 
 @Component
-public class TestDeserialize extends AbstractDeserializeMapping<Test> {
+public class TestDeserialize extends AbstractCompiledMapping<Test> {
 
-    public TestDeserialize() throws IOException, URISyntaxException {
+    public TestDeserialize() throws IOException {
         super(Test.class, null, null);
     }
 }
@@ -0,0 +1,14 @@
+package org.deserialize.test;
+
+import org.deserialize.mapping.MappingSerializer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+@Component
+public class TestSerializer extends MappingSerializer<Test> {
+
+    public TestSerializer() throws IOException {
+        super(Test.class, null, null);
+    }
+}
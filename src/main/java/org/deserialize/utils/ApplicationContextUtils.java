@@ -1,9 +1,9 @@
 package com.enel.eic.commons.util;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.deserialize.utils.ObjectMapperRegistry;
 import org.slf4j.MDC;
 import org.springframework.beans.factory.config.BeanExpressionContext;
 import org.springframework.beans.factory.config.BeanExpressionResolver;
@@ -20,7 +20,6 @@ public class ApplicationContextUtils {
 
     private static ApplicationContext applicationContext;
     private static ConfigurableBeanFactory beanFactory;
-    private static final ObjectMapper mapper = new ObjectMapper();
 
     private static final String RELEASE_VERSION = "release_version";
 
@@ -78,7 +77,7 @@ public class ApplicationContextUtils {
 
     public static String getReleaseVersion() {
         try {
-            JsonNode node = mapper.readValue(ResourceUtils.getFile("./automation_conf.json"), JsonNode.class);
+            JsonNode node = ObjectMapperRegistry.reader(JsonNode.class).readValue(ResourceUtils.getFile("./automation_conf.json"));
             if (node.get(RELEASE_VERSION) == null || node.get(RELEASE_VERSION).isNull()) {
                 return null;
             }
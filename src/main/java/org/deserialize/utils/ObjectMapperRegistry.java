@@ -0,0 +1,71 @@
+package org.deserialize.utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * The one {@link ObjectMapper} of the utilities, clients and interceptors that are not handed the Spring one.
+ * <p>
+ * A mapper keeps its own serializer and deserializer caches, so every private {@code new ObjectMapper()} used to
+ * introspect and warm up the same types again. The shared mapper has the plain Jackson defaults of the mappers it
+ * replaces, no module registered, so that e.g. dates keep their serialized form; readers and writers are immutable
+ * and built once per target type. Mappers with another configuration, such as a binary encoding, are registered by
+ * name with {@link #getMapper(String, Supplier)}.
+ */
+public final class ObjectMapperRegistry {
+
+    private static final ObjectMapper mapper = JsonMapper.builder().build();
+    private static final ObjectWriter writer = mapper.writer();
+
+    private static final Map<JavaType, ObjectReader> READERS = new ConcurrentHashMap<>();
+    private static final Map<JavaType, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+    private static final Map<String, ObjectMapper> NAMED_MAPPERS = new ConcurrentHashMap<>();
+
+    private ObjectMapperRegistry() {}
+
+    /**
+     * @return the shared mapper, for tree and conversion operations; prefer the cached readers and writers to bind values
+     */
+    public static ObjectMapper getMapper() {
+        return mapper;
+    }
+
+    /**
+     * @param factory creates the mapper the first time the name is used
+     * @return the mapper registered under the name
+     */
+    public static ObjectMapper getMapper(String name, Supplier<ObjectMapper> factory) {
+        return NAMED_MAPPERS.computeIfAbsent(name, key -> factory.get());
+    }
+
+    public static ObjectReader reader(Class<?> type) {
+        return reader(mapper.constructType(type));
+    }
+
+    public static ObjectReader reader(TypeReference<?> type) {
+        return reader(mapper.constructType(type));
+    }
+
+    public static ObjectReader reader(JavaType type) {
+        return READERS.computeIfAbsent(type, mapper::readerFor);
+    }
+
+    /**
+     * @return the writer of values whose type is only known at runtime
+     */
+    public static ObjectWriter writer() {
+        return writer;
+    }
+
+    public static ObjectWriter writer(Class<?> type) {
+        return WRITERS.computeIfAbsent(mapper.constructType(type), mapper::writerFor);
+    }
+}
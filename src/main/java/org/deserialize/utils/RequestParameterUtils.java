@@ -6,9 +6,11 @@ import com.enel.eic.commons.resolver.ParameterType;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.MissingNode;
 import jakarta.servlet.http.HttpServletRequest;
 import org.apache.commons.lang3.StringUtils;
+import org.deserialize.utils.ObjectMapperRegistry;
 import org.springframework.util.StreamUtils;
 import org.springframework.web.servlet.HandlerMapping;
 
@@ -21,7 +23,9 @@ import java.util.regex.Pattern;
 
 public class RequestParameterUtils {
 
-    private final static ObjectMapper mapper = new ObjectMapper();
+    private final static ObjectReader bodyReader = ObjectMapperRegistry.reader(JsonNode.class);
+    private final static Pattern URL_ENCODED_PARAMETER = Pattern.compile("(\\w+)=(.*?)(?=,\\w+=|$)");
+    private final static String PARSED_BODY_ATTRIBUTE = RequestParameterUtils.class.getName() + ".PARSED_BODY";
 
     public static Object getValueFromRequest(HttpServletRequest request, ParameterType parameterType, String parameterName) throws IOException {
         return switch (parameterType) {
@@ -32,26 +36,19 @@ public class RequestParameterUtils {
                 yield null;
             }
             case BODY -> {
-                if (request.getInputStream() != null) {
-                    String bodyAsString = StreamUtils.copyToString(request.getInputStream(), Charset.defaultCharset());
-                    try {
-                        // parse body as json object
-                        JsonNode body = mapper.readTree(bodyAsString);
-                        if (body != null) {
-                            JsonNode parameterNode = body.findValue(parameterName);
-                            if (parameterNode != null && !parameterNode.isNull()) {
-                                yield parameterNode.asText();
-                            }
-                        }
-                    } catch (JsonProcessingException e) {
-                        // parse body as url encoding
-                        Matcher matcher = Pattern.compile("(\\w+)=(.*?)(?=,\\w+=|$)").matcher(bodyAsString);
-                        while (matcher.find()) {
-                            if (parameterName.equals(matcher.group(1))) {
-                                yield matcher.group(2);
-                            }
+                Object body = getParsedBody(request);
+                if (body instanceof JsonNode) {
+                    JsonNode parameterNode = ((JsonNode) body).findValue(parameterName);
+                    if (parameterNode != null && !parameterNode.isNull()) {
+                        yield parameterNode.asText();
+                    }
+                } else if (body instanceof String) {
+                    // parse body as url encoding
+                    Matcher matcher = URL_ENCODED_PARAMETER.matcher((String) body);
+                    while (matcher.find()) {
+                        if (parameterName.equals(matcher.group(1))) {
+                            yield matcher.group(2);
                         }
-
                     }
                 }
 
@@ -73,6 +70,35 @@ public class RequestParameterUtils {
         };
     }
 
+    /**
+     * Body of the request read and parsed once, then kept as a request attribute for the other body parameters:
+     * the json tree, or the raw text when the body is not json.
+     */
+    private static Object getParsedBody(HttpServletRequest request) throws IOException {
+        Object body = request.getAttribute(PARSED_BODY_ATTRIBUTE);
+        if (body == null) {
+            body = parseBody(request);
+            request.setAttribute(PARSED_BODY_ATTRIBUTE, body);
+        }
+
+        return body;
+    }
+
+    private static Object parseBody(HttpServletRequest request) throws IOException {
+        if (request.getInputStream() == null) {
+            return MissingNode.getInstance();
+        }
+
+        String bodyAsString = StreamUtils.copyToString(request.getInputStream(), Charset.defaultCharset());
+        try {
+            // parse body as json object
+            JsonNode body = bodyReader.readTree(bodyAsString);
+            return body != null ? body : MissingNode.getInstance();
+        } catch (JsonProcessingException e) {
+            return bodyAsString;
+        }
+    }
+
     public static String getUserIp(HttpServletRequest request) {
         String xForwardedFor = request.getHeader(HeaderConstants.X_FORWARDED_FOR);
 
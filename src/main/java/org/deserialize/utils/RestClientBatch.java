@@ -0,0 +1,159 @@
+package com.enel.eic.commons.rest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Fan-out of many {@link RestClientService} calls: at most {@link #concurrency(int)} of them in flight at once,
+ * each one bounded by an optional {@link #timeout(Duration) deadline}. A failed call does not stop the others,
+ * {@link #execute()} returns one {@link Result} per call, in request order, with its value or its error.
+ * <pre>{@code
+ * List<RestClientBatch.Result<RestUserResponse>> users = RestClientBatch
+ *         .of(uniqueIds, uniqueId -> RestClientService.instance()
+ *                 .url(url)
+ *                 .method(HttpMethod.GET)
+ *                 .pathParameter("uniqueId", uniqueId)
+ *                 .resultClass(RestUserResponse.class))
+ *         .concurrency(20)
+ *         .timeout(Duration.ofSeconds(10))
+ *         .execute();
+ * }</pre>
+ *
+ * @param <T> the result type of the calls
+ */
+public final class RestClientBatch<T> {
+
+    private static final int DEFAULT_CONCURRENCY = 10;
+
+    private final int size;
+    private final IntFunction<RestClientService> requests;
+    private int concurrency = DEFAULT_CONCURRENCY;
+    private Duration timeout;
+    private Executor executor;
+
+    private RestClientBatch(int size, IntFunction<RestClientService> requests) {
+        this.size = size;
+        this.requests = requests;
+    }
+
+    /**
+     * @param requests prepared requests, one call each
+     */
+    public static <T> RestClientBatch<T> of(List<RestClientService> requests) {
+        List<RestClientService> copy = List.copyOf(requests);
+        return new RestClientBatch<>(copy.size(), copy::get);
+    }
+
+    /**
+     * @param parameters one call per parameter set
+     * @param template   builds the request of a parameter set, invoked only when the call is about to start
+     */
+    public static <P, T> RestClientBatch<T> of(List<P> parameters, Function<? super P, RestClientService> template) {
+        List<P> copy = List.copyOf(parameters);
+        return new RestClientBatch<>(copy.size(), index -> template.apply(copy.get(index)));
+    }
+
+    /**
+     * @param concurrency maximum number of calls in flight, {@value DEFAULT_CONCURRENCY} by default
+     */
+    public RestClientBatch<T> concurrency(int concurrency) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("concurrency must be positive: " + concurrency);
+        }
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    /**
+     * @param timeout deadline of every call from its start, after which its result fails with a
+     *                {@link java.util.concurrent.TimeoutException}; none by default, the request timeout applying
+     */
+    public RestClientBatch<T> timeout(Duration timeout) {
+        this.timeout = timeout;
+        return this;
+    }
+
+    /**
+     * @param executor runs the calls, the {@link RestClientService#setAsyncExecutor(Executor) async executor} by default
+     */
+    public RestClientBatch<T> executor(Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Runs all the calls and waits for them. A call past its deadline no longer delays the batch, but keeps its
+     * concurrency slot until the underlying request ends, so the limit holds towards the downstream service.
+     *
+     * @return one result per call, in request order
+     */
+    public List<Result<T>> execute() {
+        Executor callExecutor = executor != null ? executor : RestClientService.getAsyncExecutor();
+        Semaphore slots = new Semaphore(concurrency);
+        List<CompletableFuture<Result<T>>> results = new ArrayList<>(size);
+        for (int index = 0; index < size; index++) {
+            try {
+                slots.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                for (; index < size; index++) {
+                    results.add(CompletableFuture.completedFuture(new Result<>(index, null, e, Duration.ZERO)));
+                }
+                break;
+            }
+
+            results.add(start(index, callExecutor, slots));
+        }
+
+        List<Result<T>> completed = new ArrayList<>(size);
+        for (CompletableFuture<Result<T>> result : results) {
+            completed.add(result.join());
+        }
+        return completed;
+    }
+
+    private CompletableFuture<Result<T>> start(int index, Executor callExecutor, Semaphore slots) {
+        long start = System.nanoTime();
+        CompletableFuture<T> call;
+        try {
+            call = requests.apply(index).exchangeAsync(callExecutor);
+        } catch (RuntimeException e) {
+            // template failure or executor rejection: the call never started
+            call = CompletableFuture.failedFuture(e);
+        }
+        call.whenComplete((value, error) -> slots.release());
+
+        CompletableFuture<T> bounded = timeout != null ? call.copy().orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS) : call;
+        return bounded.handle((value, error) -> new Result<>(index, value, unwrap(error), Duration.ofNanos(System.nanoTime() - start)));
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * Outcome of one call of a batch.
+     *
+     * @param index   position of the call in the batch
+     * @param value   response of a successful call
+     * @param error   failure of the call: the exception of {@link RestClientService#exchange()}, a
+     *                {@link java.util.concurrent.TimeoutException} past the deadline, a
+     *                {@link RejectedExecutionException} when the executor refused it
+     * @param elapsed time from the start of the call to its result
+     */
+    public record Result<T>(int index, T value, Throwable error, Duration elapsed) {
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+    }
+}
@@ -3,14 +3,16 @@ package com.enel.eic.commons.rest;
 
 import com.enel.eic.commons.exception.CommonsException;
 import com.enel.eic.commons.util.LabelUtils;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.catalina.util.ParameterMap;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
@@ -18,25 +20,47 @@ import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactory;
 import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactoryBuilder;
 import org.apache.hc.client5.http.ssl.TrustAllStrategy;
 import org.apache.hc.core5.ssl.SSLContexts;
+import org.apache.hc.core5.util.TimeValue;
+import org.deserialize.utils.ObjectMapperRegistry;
+import org.slf4j.MDC;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.StopWatch;
 import org.springframework.util.StreamUtils;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.util.DefaultUriBuilderFactory;
 
 import javax.net.ssl.SSLContext;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.security.KeyManagementException;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.CertificateExpiredException;
 import java.security.cert.CertificateNotYetValidException;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -44,13 +68,31 @@ import java.util.stream.Collectors;
 @Slf4j
 public class RestClientService {
 
-    private final ObjectMapper mapper = new ObjectMapper();
     private static final String AUTH_PREFIX_BASIC = "Basic ";
     private static final String AUTH_PREFIX_BEARER = "Bearer ";
     private static final String HEADER_KEY_AUTH = "Authorization";
     private static final String HEADER_KEY_CONTENT_TYPE = "Content-Type";
-    private static final int MAX_BODY_SIZE = 4096;
-    private static final String OMISSIS = "{...}";
+    static final int MAX_BODY_SIZE = 4096;
+    static final String OMISSIS = "{...}";
+    private static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 20;
+    private static final int DEFAULT_MAX_CONNECTIONS_TOTAL = 200;
+    private static final Duration DEFAULT_IDLE_CONNECTION_TIMEOUT = Duration.ofSeconds(30);
+
+    // one pooled client per (strategy, hostname verifiers, timeouts), shared by all the instances
+    private static final Map<RequestFactoryKey, HttpComponentsClientHttpRequestFactory> REQUEST_FACTORIES = new ConcurrentHashMap<>();
+    private static volatile int maxConnectionsPerRoute = DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+    private static volatile int maxConnectionsTotal = DEFAULT_MAX_CONNECTIONS_TOTAL;
+    private static volatile Duration idleConnectionTimeout = DEFAULT_IDLE_CONNECTION_TIMEOUT;
+
+    // executor of exchangeAsync() when none is given, created on first use
+    private static final int DEFAULT_ASYNC_POOL_SIZE = 64;
+    private static final int DEFAULT_ASYNC_QUEUE_SIZE = 1024;
+    private static Executor asyncExecutor;
+    private static ExecutorService defaultAsyncExecutor;
+
+    // responses of the GET calls opting in with cache(), shared by all the instances
+    private static final long DEFAULT_RESPONSE_CACHE_SIZE = 16L * 1024 * 1024;
+    private static volatile RestResponseCache responseCache = new RestResponseCache(DEFAULT_RESPONSE_CACHE_SIZE);
 
     private static final Map<Class<?>, Function<String, ?>> WRAPPER_TYPE_EVAL_MAP = Map.of(
             Integer.class, Integer::valueOf,
@@ -89,6 +131,7 @@ public class RestClientService {
     private Integer requestTimeout = 55*1000;
     private List<String> sslHostnameVerifierList;
     private RequestFactoryStrategy requestFactoryStrategy;
+    private List<String> cacheVaryHeaders;
 
     private RestClientService() {
         requestFactoryStrategy = RequestFactoryStrategyEnum.HANDSHAKE_CERT_VALIDATION;
@@ -98,6 +141,84 @@ public class RestClientService {
         return new RestClientService();
     }
 
+    /**
+     * Sizes the connection pools of the clients created from now on; the clients already cached keep their pool.
+     *
+     * @param idleConnectionTimeout pooled connections idle for longer are closed in the background
+     */
+    public static void setConnectionPool(int maxConnectionsPerRoute, int maxConnectionsTotal, Duration idleConnectionTimeout) {
+        RestClientService.maxConnectionsPerRoute = maxConnectionsPerRoute > 0 ? maxConnectionsPerRoute : DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+        RestClientService.maxConnectionsTotal = maxConnectionsTotal > 0 ? maxConnectionsTotal : DEFAULT_MAX_CONNECTIONS_TOTAL;
+        RestClientService.idleConnectionTimeout = idleConnectionTimeout != null ? idleConnectionTimeout : DEFAULT_IDLE_CONNECTION_TIMEOUT;
+    }
+
+    /**
+     * Sets the executor of {@link #exchangeAsync()}, {@code null} to go back to the default one: virtual threads
+     * when the runtime has them, a bounded pool of {@value DEFAULT_ASYNC_POOL_SIZE} daemon threads otherwise, with
+     * up to {@value DEFAULT_ASYNC_QUEUE_SIZE} waiting calls beyond which {@link #exchangeAsync()} throws a
+     * {@link java.util.concurrent.RejectedExecutionException}.
+     */
+    public static synchronized void setAsyncExecutor(Executor asyncExecutor) {
+        RestClientService.asyncExecutor = asyncExecutor;
+    }
+
+    /**
+     * Bounds the bytes of the responses kept for the {@link #cache(String...) cached} calls, {@code 16MB} by default;
+     * the responses cached so far are dropped.
+     */
+    public static void setResponseCacheSize(long maxBytes) {
+        responseCache = new RestResponseCache(maxBytes > 0 ? maxBytes : DEFAULT_RESPONSE_CACHE_SIZE);
+    }
+
+    /**
+     * Closes every cached client and its connection pool, e.g. when the application context is closed, and stops
+     * the default executor of {@link #exchangeAsync()}.
+     */
+    public static void shutdown() {
+        for (RequestFactoryKey key : new ArrayList<>(REQUEST_FACTORIES.keySet())) {
+            HttpComponentsClientHttpRequestFactory requestFactory = REQUEST_FACTORIES.remove(key);
+            if (requestFactory != null) {
+                destroy(requestFactory);
+            }
+        }
+
+        responseCache.clear();
+
+        synchronized (RestClientService.class) {
+            if (defaultAsyncExecutor != null) {
+                defaultAsyncExecutor.shutdown();
+                defaultAsyncExecutor = null;
+            }
+        }
+    }
+
+    static synchronized Executor getAsyncExecutor() {
+        if (asyncExecutor != null) {
+            return asyncExecutor;
+        }
+
+        if (defaultAsyncExecutor == null) {
+            defaultAsyncExecutor = createDefaultAsyncExecutor();
+        }
+        return defaultAsyncExecutor;
+    }
+
+    private static ExecutorService createDefaultAsyncExecutor() {
+        try {
+            // JDK 21+, looked up reflectively as the code is built for older releases
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger threadCount = new AtomicInteger();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(DEFAULT_ASYNC_POOL_SIZE, DEFAULT_ASYNC_POOL_SIZE, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(DEFAULT_ASYNC_QUEUE_SIZE), runnable -> {
+                Thread thread = new Thread(runnable, "rest-client-async-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
+
     public static HttpStatusErrorHandler instanceHttpStatusConsumer(Function<HttStatusHandlerParam, ?> errorResponseFunction) {
         return new HttpStatusErrorHandler(errorResponseFunction);
     }
@@ -270,8 +391,41 @@ public class RestClientService {
         return this;
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Serves a GET from the shared response cache while fresh for its {@code Cache-Control: max-age}, revalidating
+     * it with {@code If-None-Match}/{@code If-Modified-Since} once stale. Ignored by the other methods.
+     *
+     * @param varyHeaders request headers whose values, with the final url and the authentication, tell cached
+     *                    responses apart
+     */
+    public RestClientService cache(String... varyHeaders) {
+        this.cacheVaryHeaders = List.of(varyHeaders);
+        return this;
+    }
+
     public <T> T exchange() {
+        return exchange(requestHeaders(), false);
+    }
+
+    /**
+     * Copy of the headers of a call, with the default {@code Content-Type}: the instance is left untouched, so that
+     * its calls do not interfere with each other.
+     */
+    private MultiValueMap<String, String> requestHeaders() {
+        MultiValueMap<String, String> requestHeaders = new LinkedMultiValueMap<>();
+        if (headers != null) {
+            requestHeaders.putAll(headers);
+        }
+        requestHeaders.putIfAbsent(HEADER_KEY_CONTENT_TYPE, Collections.singletonList(MediaType.APPLICATION_JSON_VALUE));
+        return requestHeaders;
+    }
+
+    /**
+     * @param requestHeaders headers of the call, see {@link #requestHeaders()}
+     * @param retryDone      whether the call is the retry asked by a status error handler
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T exchange(MultiValueMap<String, String> requestHeaders, boolean retryDone) {
 
         if (StringUtils.isBlank(url) || method == null || (resultClass == null && resultTypeReference == null && successResponseParser == null)) {
             throw new CommonsException("Missing required parameter[ url or method or result ]");
@@ -279,14 +433,7 @@ public class RestClientService {
 
         RestClient.Builder restClientBuilder = RestClient.builder();
 
-        // resolve headers
-        if (headers == null) {
-            headers = new LinkedMultiValueMap<>();
-            headers.put(HEADER_KEY_CONTENT_TYPE, Collections.singletonList(MediaType.APPLICATION_JSON_VALUE));
-        }
-
-        headers.putIfAbsent(HEADER_KEY_CONTENT_TYPE, Collections.singletonList(MediaType.APPLICATION_JSON_VALUE));
-        restClientBuilder.defaultHeaders(httpHeaders -> httpHeaders.addAll(headers));
+        restClientBuilder.defaultHeaders(httpHeaders -> httpHeaders.addAll(requestHeaders));
 
         if (authenticationHeader != null) {
             restClientBuilder.defaultHeader(authenticationHeader.headerName, authenticationHeader.token);
@@ -346,19 +493,62 @@ public class RestClientService {
         restClientBuilder.defaultUriVariables(uriParameterMap);
         restClientBuilder.baseUrl(builder.toString());
 
+        List<String> hostnameVerifiers = sslHostnameVerifierList != null ? List.copyOf(sslHostnameVerifierList) : List.of();
+        // custom strategies may be capturing lambdas: their request factory is owned by this call only
+        HttpComponentsClientHttpRequestFactory callRequestFactory = null;
         try {
-            HttpComponentsClientHttpRequestFactory requestFactory = requestFactoryStrategy.createRequestFactory(sslHostnameVerifierList);
-            requestFactory.setConnectionRequestTimeout(requestTimeout);
-            requestFactory.setConnectTimeout(connectionTimeout);
-
-            restClientBuilder.requestFactory(requestFactory);
-        } catch (NoSuchAlgorithmException | KeyStoreException | KeyManagementException e) {}
+            if (requestFactoryStrategy instanceof RequestFactoryStrategyEnum) {
+                restClientBuilder.requestFactory(getRequestFactory(new RequestFactoryKey((RequestFactoryStrategyEnum) requestFactoryStrategy,
+                        hostnameVerifiers, connectionTimeout, requestTimeout)));
+            } else {
+                callRequestFactory = createRequestFactory(requestFactoryStrategy, hostnameVerifiers, connectionTimeout, requestTimeout);
+                restClientBuilder.requestFactory(callRequestFactory);
+            }
+        } catch (NoSuchAlgorithmException | KeyStoreException | KeyManagementException e) {
+            log.warn("Unable to create the request factory of {}, using the default one", requestFactoryStrategy, e);
+        }
 
-        RestClient restClient = restClientBuilder.build();
+        try {
+            return exchange(restClientBuilder.build(), builder.toString(), uriParameterMap, requestHeaders, retryDone);
+        } finally {
+            if (callRequestFactory != null) {
+                destroy(callRequestFactory);
+            }
+        }
+    }
 
+    @SuppressWarnings("unchecked")
+    private <T> T exchange(RestClient restClient, String baseUrl, Map<String, Object> uriParameterMap,
+                           MultiValueMap<String, String> requestHeaders, boolean retryDone) {
         RestClient.RequestBodyUriSpec requestSpec = restClient.method(method);
         if (requestBody != null) {
-            requestSpec.body(RequestBodyStrategy.getStrategy(headers.getFirst(HEADER_KEY_CONTENT_TYPE)).parse(requestBody));
+            requestSpec.body(RequestBodyStrategy.getStrategy(requestHeaders.getFirst(HEADER_KEY_CONTENT_TYPE)).parse(requestBody));
+        }
+
+        // cached GET: expanded as the client would, the uri is part of the key of the cached response
+        RestResponseCache cache = cacheVaryHeaders != null && HttpMethod.GET.equals(method) ? responseCache : null;
+        URI cacheUri = cache != null ? new DefaultUriBuilderFactory(baseUrl).expand("", uriParameterMap) : null;
+        String cacheKey = cacheUri != null ? cacheKey(cacheUri, requestHeaders) : null;
+        RestResponseCache.Entry cached = cacheKey != null ? cache.get(cacheKey) : null;
+        if (cached != null && cached.isFresh()) {
+            log.debug("Response of {} {} served from cache", method, cacheUri);
+            try {
+                return readSuccess(new ByteArrayInputStream(cached.body()), cached.headers());
+            } catch (IOException e) {
+                throw new RestClientException("Error while extracting cached response of " + cacheUri, e);
+            }
+        }
+
+        if (cacheUri != null) {
+            requestSpec.uri(cacheUri);
+        }
+        if (cached != null) {
+            if (cached.headers().getETag() != null) {
+                requestSpec.header(HttpHeaders.IF_NONE_MATCH, cached.headers().getETag());
+            }
+            if (cached.headers().containsKey(HttpHeaders.LAST_MODIFIED)) {
+                requestSpec.header(HttpHeaders.IF_MODIFIED_SINCE, cached.headers().getFirst(HttpHeaders.LAST_MODIFIED));
+            }
         }
 
         StopWatch stopWatch = new StopWatch();
@@ -366,32 +556,24 @@ public class RestClientService {
         return requestSpec.exchange((request, response) -> {
             stopWatch.stop();
 
-            String result = StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8);
+            if (response.getStatusCode().isError()) {
+                String result = StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8);
 
-            log.info(LabelUtils.LOG_REST_CALL_REQUEST_RESPONSE,
-                    request.getURI(),
-                    request.getMethod(),
-                    request.getHeaders(),
-                    stopWatch.getTotalTimeMillis() + "ms",
-                    requestBody != null ? mapper.writeValueAsString(requestBody) : null,
-                    response.getStatusCode(),
-                    response.getHeaders(),
-                    result.getBytes().length > MAX_BODY_SIZE ? ApplicationContextUtils.replaceContextLineSeparator(new String(result.getBytes(), 0, MAX_BODY_SIZE).concat(OMISSIS)) : ApplicationContextUtils.replaceContextLineSeparator(result));
+                logExchange(request, response, stopWatch, result.length() > MAX_BODY_SIZE ? result.substring(0, MAX_BODY_SIZE).concat(OMISSIS) : result);
 
-            if (response.getStatusCode().isError()) {
                 HttpStatusErrorHandler httpStatusErrorHandler = null;
 
                 Function<HttpStatusErrorHandler, T> evalHttpStatusErrorFunction = (httpStatus) -> {
-                    var handlerResult = httpStatus.getErrorHandlerFunction().apply(new HttStatusHandlerParam(this, result, httpStatus.retryDone));
+                    var handlerResult = httpStatus.getErrorHandlerFunction().apply(new HttStatusHandlerParam(this, result, retryDone));
 
                     if (handlerResult == null) {
                         return null;
                     }
 
                     if (handlerResult instanceof Boolean) {
-                        if (Boolean.TRUE.equals(handlerResult) && Boolean.FALSE.equals(httpStatus.retryDone)) {
-                            httpStatus.retryDone = true;
-                            return exchange();
+                        if (Boolean.TRUE.equals(handlerResult) && !retryDone) {
+                            httpStatus.retried = true;
+                            return exchange(requestHeaders, true);
                         }
                     } else {
                         return (T) handlerResult;
@@ -427,7 +609,7 @@ public class RestClientService {
 
                 CommonsException commonsException = new CommonsException();
                 commonsException.setHttpStatus(HttpStatus.valueOf(response.getStatusCode().value()));
-                commonsException.setSystemErrorResponse(StringUtils.isNotBlank(result) ? mapper.readValue(result, Object.class) : null);
+                commonsException.setSystemErrorResponse(StringUtils.isNotBlank(result) ? ObjectMapperRegistry.reader(Object.class).readValue(result) : null);
                 commonsException.setErrorCode(String.valueOf(response.getStatusCode().value()));
 
                 if (exceptionErrorResponseParser != null) {
@@ -435,39 +617,267 @@ public class RestClientService {
                 }
 
                 throw commonsException;
-            } else {
+            }
 
-                if (successResponseParser != null) {
-                    return (T) successResponseParser.apply(result, response.getHeaders());
-                }
+            // a 304 answers with the cached response, a 200 of a cached call is buffered when its headers allow to store it
+            RestResponseCache.Entry entry = cacheKey != null ? cacheResponse(cache, cacheKey, cached, response) : null;
 
-                if (StringUtils.isBlank(result)) {
-                    return null;
-                }
+            // successful responses are decoded from the stream, only the head of the body is kept for the log
+            LoggedBody body = new LoggedBody(entry != null ? new ByteArrayInputStream(entry.body()) : response.getBody());
+            try {
+                return readSuccess(body, entry != null ? entry.headers() : response.getHeaders());
+            } finally {
+                logExchange(request, response, stopWatch, body.toString());
+            }
+        });
+    }
 
-                if (resultClass != null) {
-                    if (WRAPPER_TYPE_EVAL_MAP.containsKey(resultClass)) {
-                        return (T) WRAPPER_TYPE_EVAL_MAP.get(resultClass).apply(result);
-                    }
+    private String cacheKey(URI uri, MultiValueMap<String, String> requestHeaders) {
+        StringBuilder key = new StringBuilder(uri.toString());
+        if (authenticationHeader != null) {
+            key.append('\n').append(authenticationHeader.headerName).append(": ").append(authenticationHeader.token);
+        }
+        for (String varyHeader : cacheVaryHeaders) {
+            key.append('\n').append(varyHeader).append(": ").append(requestHeaders.getOrDefault(varyHeader, List.of()));
+        }
+        return key.toString();
+    }
+
+    /**
+     * @return the response answering the call, stored or dropped as its headers allow; {@code null} when the status
+     * is not cacheable or the headers already tell that the response will not be stored, its body is then streamed
+     */
+    private static RestResponseCache.Entry cacheResponse(RestResponseCache cache, String cacheKey, RestResponseCache.Entry cached, ClientHttpResponse response) throws IOException {
+        RestResponseCache.Entry entry;
+        if (cached != null && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            entry = cached.revalidated(response.getHeaders());
+        } else if (response.getStatusCode().isSameCodeAs(HttpStatus.OK)) {
+            if (!cache.mayStore(response.getHeaders())) {
+                cache.remove(cacheKey);
+                return null;
+            }
+            entry = RestResponseCache.Entry.of(response.getHeaders(), StreamUtils.copyToByteArray(response.getBody()));
+        } else {
+            return null;
+        }
 
-                    return (T) mapper.readValue(result, resultClass);
-                }
+        cache.put(cacheKey, entry);
+        return entry;
+    }
 
-                return (T) mapper.readValue(result, resultTypeReference);
+    @SuppressWarnings("unchecked")
+    private <T> T readSuccess(InputStream body, HttpHeaders responseHeaders) throws IOException {
+        if (successResponseParser == null && (resultClass == null || !WRAPPER_TYPE_EVAL_MAP.containsKey(resultClass))) {
+            return readResult(body);
+        }
+
+        String result = StreamUtils.copyToString(body, StandardCharsets.UTF_8);
+        if (successResponseParser != null) {
+            return (T) successResponseParser.apply(result, responseHeaders);
+        }
+
+        if (StringUtils.isBlank(result)) {
+            return null;
+        }
+
+        return (T) WRAPPER_TYPE_EVAL_MAP.get(resultClass).apply(result);
+    }
+
+    private <T> T readResult(InputStream body) throws IOException {
+        ObjectReader reader = resultClass != null ? ObjectMapperRegistry.reader(resultClass) : ObjectMapperRegistry.reader(resultTypeReference);
+        try (JsonParser parser = reader.createParser(body)) {
+            // an empty or blank body is no result, as for the other response parsers
+            return parser.nextToken() == null ? null : reader.readValue(parser);
+        }
+    }
+
+    private void logExchange(HttpRequest request, ClientHttpResponse response, StopWatch stopWatch, String body) throws IOException {
+        log.info(LabelUtils.LOG_REST_CALL_REQUEST_RESPONSE,
+                request.getURI(),
+                request.getMethod(),
+                request.getHeaders(),
+                stopWatch.getTotalTimeMillis() + "ms",
+                requestBody != null ? ObjectMapperRegistry.writer().writeValueAsString(requestBody) : null,
+                response.getStatusCode(),
+                response.getHeaders(),
+                ApplicationContextUtils.replaceContextLineSeparator(body));
+    }
+
+    /**
+     * Runs {@link #exchange()} on the {@link #setAsyncExecutor(Executor) async executor}, so that independent
+     * calls overlap. Response parsing, status error handlers and their single retry are the ones of {@link #exchange()};
+     * its exceptions complete the future exceptionally. The logging context of the caller is carried over.
+     * <p>
+     * The headers are copied when the call is submitted, and the retry state belongs to the call, so an instance
+     * may run several calls at once; its other settings are read when the call runs, they must not be changed until
+     * the future completes.
+     */
+    public <T> CompletableFuture<T> exchangeAsync() {
+        return exchangeAsync(getAsyncExecutor());
+    }
+
+    public <T> CompletableFuture<T> exchangeAsync(Executor executor) {
+        MultiValueMap<String, String> requestHeaders = requestHeaders();
+        Map<String, String> callerContext = MDC.getCopyOfContextMap();
+        return CompletableFuture.supplyAsync(() -> {
+            Map<String, String> workerContext = MDC.getCopyOfContextMap();
+            setMdcContext(callerContext);
+            try {
+                return exchange(requestHeaders, false);
+            } finally {
+                setMdcContext(workerContext);
             }
-        });
+        }, executor);
+    }
+
+    private static void setMdcContext(Map<String, String> context) {
+        if (context != null) {
+            MDC.setContextMap(context);
+        } else {
+            MDC.clear();
+        }
+    }
+
+    static HttpComponentsClientHttpRequestFactory getRequestFactory(RequestFactoryKey key) throws NoSuchAlgorithmException, KeyStoreException, KeyManagementException {
+        HttpComponentsClientHttpRequestFactory requestFactory = REQUEST_FACTORIES.get(key);
+        if (requestFactory == null) {
+            requestFactory = createRequestFactory(key.strategy(), key.sslHostnameVerifierList(), key.connectionTimeout(), key.requestTimeout());
+
+            HttpComponentsClientHttpRequestFactory existing = REQUEST_FACTORIES.putIfAbsent(key, requestFactory);
+            if (existing != null) {
+                destroy(requestFactory);
+                requestFactory = existing;
+            }
+        }
+
+        return requestFactory;
+    }
+
+    private static HttpComponentsClientHttpRequestFactory createRequestFactory(RequestFactoryStrategy strategy, List<String> sslHostnameVerifierList,
+                                                                               int connectionTimeout, int requestTimeout) throws NoSuchAlgorithmException, KeyStoreException, KeyManagementException {
+        HttpComponentsClientHttpRequestFactory requestFactory = strategy.createRequestFactory(sslHostnameVerifierList);
+        requestFactory.setConnectionRequestTimeout(requestTimeout);
+        requestFactory.setConnectTimeout(connectionTimeout);
+        return requestFactory;
+    }
+
+    private static void destroy(HttpComponentsClientHttpRequestFactory requestFactory) {
+        try {
+            requestFactory.destroy();
+        } catch (Exception e) {
+            log.warn("Error closing http client: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Http client of the {@link RequestFactoryStrategyEnum} strategies on a bounded connection pool, closing the
+     * expired and idle connections in the background.
+     *
+     * @param systemProperties whether the client also reads the system properties (proxy, user agent, ...), as
+     *                         {@code HttpClients.createSystem()}
+     */
+    private static CloseableHttpClient pooledHttpClient(PoolingHttpClientConnectionManagerBuilder connectionManagerBuilder, boolean systemProperties) {
+        PoolingHttpClientConnectionManager poolingHttpClientConnectionManager = connectionManagerBuilder
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setMaxConnTotal(maxConnectionsTotal)
+                .build();
+
+        HttpClientBuilder httpClientBuilder = HttpClients.custom()
+                .setConnectionManager(poolingHttpClientConnectionManager)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleConnectionTimeout.toMillis()));
+        if (systemProperties) {
+            httpClientBuilder.useSystemProperties();
+        }
+
+        return httpClientBuilder.build();
     }
 
+    /**
+     * Response body read through while keeping its first {@link #MAX_BODY_SIZE} bytes, for the log.
+     */
+    static class LoggedBody extends FilterInputStream {
+
+        private final byte[] head = new byte[MAX_BODY_SIZE];
+        private int headLength;
+        private boolean truncated;
+
+        LoggedBody(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0 && headLength < head.length) {
+                head[headLength++] = (byte) b;
+            } else if (b >= 0) {
+                truncated = true;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = in.read(b, off, len);
+            if (read > 0) {
+                capture(b, off, read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // read through, so that the skipped bytes are captured as well
+            byte[] buffer = new byte[(int) Math.min(n, 8192)];
+            long skipped = 0;
+            int read;
+            while (skipped < n && (read = read(buffer, 0, (int) Math.min(n - skipped, buffer.length))) > 0) {
+                skipped += read;
+            }
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        private void capture(byte[] b, int off, int len) {
+            int captured = Math.min(len, head.length - headLength);
+            System.arraycopy(b, off, head, headLength, captured);
+            headLength += captured;
+            truncated |= captured < len;
+        }
+
+        @Override
+        public String toString() {
+            String body = new String(head, 0, headLength, StandardCharsets.UTF_8);
+            return truncated ? body.concat(OMISSIS) : body;
+        }
+    }
+
+    record RequestFactoryKey(RequestFactoryStrategyEnum strategy, List<String> sslHostnameVerifierList, int connectionTimeout, int requestTimeout) {}
+
     public record HttStatusHandlerParam(RestClientService restClientService, String errorResponse, Boolean retryDone) {}
 
-    @Getter
     public static class HttpStatusErrorHandler {
-        private Boolean retryDone;
+        @Getter
         private final Function<HttStatusHandlerParam, ?> errorHandlerFunction;
+        // informational only, the retry is tracked by each call: see HttStatusHandlerParam.retryDone
+        private volatile boolean retried;
 
         public HttpStatusErrorHandler(Function<HttStatusHandlerParam, ?> errorHandlerFunction) {
             this.errorHandlerFunction = errorHandlerFunction;
-            retryDone = false;
+        }
+
+        /**
+         * @return whether a call has been retried through this handler so far
+         * @deprecated the retry belongs to each call, handlers get it from {@link HttStatusHandlerParam#retryDone()}
+         */
+        @Deprecated
+        public Boolean getRetryDone() {
+            return retried;
         }
     }
 
@@ -491,7 +901,7 @@ public class RestClientService {
                     return body;
                 }
 
-                Map<String, Object> map = new ObjectMapper().convertValue(body, new TypeReference<>() {});
+                Map<String, Object> map = ObjectMapperRegistry.getMapper().convertValue(body, new TypeReference<>() {});
 
                 MultiValueMap<String, Object> result = new LinkedMultiValueMap<>();
                 result.setAll(map);
@@ -533,13 +943,8 @@ public class RestClientService {
 
                 SSLConnectionSocketFactory sslConnectionSocketFactory = createSSLConnectionSocketFactory(sslContext, sslHostnameVerifierList);
 
-                PoolingHttpClientConnectionManager poolingHttpClientConnectionManager = PoolingHttpClientConnectionManagerBuilder.create()
-                        .setSSLSocketFactory(sslConnectionSocketFactory)
-                        .build();
-
-                CloseableHttpClient httpClient = HttpClients.custom()
-                        .setConnectionManager(poolingHttpClientConnectionManager)
-                        .build();
+                CloseableHttpClient httpClient = pooledHttpClient(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setSSLSocketFactory(sslConnectionSocketFactory), false);
 
                 return new HttpComponentsClientHttpRequestFactory(httpClient);
             }
@@ -576,7 +981,10 @@ public class RestClientService {
         KEYSTORE_VALIDATION {
             @Override
             public HttpComponentsClientHttpRequestFactory createRequestFactory(List<String> sslHostnameVerifierList) throws NoSuchAlgorithmException, KeyStoreException, KeyManagementException {
-                return new HttpComponentsClientHttpRequestFactory();
+                CloseableHttpClient httpClient = pooledHttpClient(PoolingHttpClientConnectionManagerBuilder.create()
+                        .useSystemProperties(), true);
+
+                return new HttpComponentsClientHttpRequestFactory(httpClient);
             }
         },
         IGNORE_VALIDATION {
@@ -587,13 +995,8 @@ public class RestClientService {
 
                 SSLConnectionSocketFactory sslConnectionSocketFactory = createSSLConnectionSocketFactory(sslContext, sslHostnameVerifierList);
 
-                PoolingHttpClientConnectionManager poolingHttpClientConnectionManager = PoolingHttpClientConnectionManagerBuilder.create()
-                        .setSSLSocketFactory(sslConnectionSocketFactory)
-                        .build();
-
-                CloseableHttpClient httpClient = HttpClients.custom()
-                        .setConnectionManager(poolingHttpClientConnectionManager)
-                        .build();
+                CloseableHttpClient httpClient = pooledHttpClient(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setSSLSocketFactory(sslConnectionSocketFactory), false);
 
                 return new HttpComponentsClientHttpRequestFactory(httpClient);
             }
@@ -0,0 +1,167 @@
+package com.enel.eic.commons.rest;
+
+import org.springframework.http.HttpHeaders;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Client side cache of the GET responses of the {@link RestClientService} calls opting in with
+ * {@link RestClientService#cache(String...)}, shared by all the instances.
+ * <p>
+ * Entries are least recently used first out, bounded by the bytes of their bodies, headers and keys. A response is
+ * fresh for its {@code Cache-Control: max-age} less its {@code Age}; a stale response, or one stored with
+ * {@code no-cache}, is kept as long as it has a validator ({@code ETag}, {@code Last-Modified}) to revalidate it with.
+ * {@code no-store} responses are never stored.
+ */
+final class RestResponseCache {
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    RestResponseCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Stores the entry, evicting the least recently used ones beyond the size bound, or drops the key when the entry
+     * may not be stored or is larger than the whole cache.
+     */
+    synchronized void put(String key, Entry entry) {
+        remove(key);
+
+        long weight = weight(key, entry);
+        if (!entry.isStorable() || weight > maxBytes) {
+            return;
+        }
+
+        entries.put(key, entry);
+        bytes += weight;
+        var eldest = entries.entrySet().iterator();
+        while (bytes > maxBytes) {
+            Map.Entry<String, Entry> evicted = eldest.next();
+            bytes -= weight(evicted.getKey(), evicted.getValue());
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Tells from the headers of a {@code 200} whether it may be stored, before its body is read: the others are
+     * streamed to the caller rather than buffered. A body without {@code Content-Length} is only weighed once read.
+     */
+    boolean mayStore(HttpHeaders headers) {
+        return Entry.expiresAt(headers) != Entry.NOT_STORABLE && headers.getContentLength() <= maxBytes;
+    }
+
+    synchronized void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            bytes -= weight(key, removed);
+        }
+    }
+
+    synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    private static long weight(String key, Entry entry) {
+        long weight = entry.body().length + 2L * key.length();
+        for (Map.Entry<String, List<String>> header : entry.headers().entrySet()) {
+            weight += 2L * header.getKey().length();
+            for (String value : header.getValue()) {
+                weight += 2L * value.length();
+            }
+        }
+        return weight;
+    }
+
+    /**
+     * @param expiresAt epoch millis until which the response is served without revalidation,
+     *                  {@link #NOT_STORABLE} when it may not be cached
+     */
+    record Entry(byte[] body, HttpHeaders headers, long expiresAt) {
+
+        static final long NOT_STORABLE = Long.MIN_VALUE;
+
+        /**
+         * @param headers headers of a {@code 200} response
+         */
+        static Entry of(HttpHeaders headers, byte[] body) {
+            HttpHeaders copy = new HttpHeaders();
+            copy.putAll(headers);
+            return new Entry(body, HttpHeaders.readOnlyHttpHeaders(copy), expiresAt(copy));
+        }
+
+        static long expiresAt(HttpHeaders headers) {
+            long maxAge = -1;
+            boolean noCache = false;
+            for (String value : headers.getOrEmpty(HttpHeaders.CACHE_CONTROL)) {
+                for (String directive : value.split(",")) {
+                    directive = directive.trim().toLowerCase(Locale.ROOT);
+                    if (directive.equals("no-store")) {
+                        return NOT_STORABLE;
+                    } else if (directive.equals("no-cache")) {
+                        noCache = true;
+                    } else if (directive.startsWith("max-age=")) {
+                        try {
+                            maxAge = Long.parseLong(directive.substring("max-age=".length()));
+                        } catch (NumberFormatException e) {
+                            maxAge = 0;
+                        }
+                    }
+                }
+            }
+
+            long now = System.currentTimeMillis();
+            // the time already spent in the caches along the way counts against max-age
+            long freshness = maxAge - age(headers);
+            if (freshness > 0 && !noCache) {
+                return now + Math.min(freshness, Long.MAX_VALUE / 2000) * 1000;
+            }
+            return headers.getETag() != null || headers.containsKey(HttpHeaders.LAST_MODIFIED) ? now : NOT_STORABLE;
+        }
+
+        private static long age(HttpHeaders headers) {
+            String age = headers.getFirst(HttpHeaders.AGE);
+            if (age == null) {
+                return 0;
+            }
+            try {
+                return Math.max(Long.parseLong(age.trim()), 0);
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+
+        /**
+         * @param notModifiedHeaders headers of the {@code 304} answering the revalidation, updating the stored ones
+         */
+        Entry revalidated(HttpHeaders notModifiedHeaders) {
+            HttpHeaders merged = new HttpHeaders();
+            merged.putAll(headers);
+            notModifiedHeaders.forEach((name, values) -> {
+                // a 304 has no body, its length is not the one of the stored body
+                if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                    merged.put(name, values);
+                }
+            });
+            return of(merged, body);
+        }
+
+        boolean isStorable() {
+            return expiresAt != NOT_STORABLE;
+        }
+
+        boolean isFresh() {
+            return System.currentTimeMillis() < expiresAt;
+        }
+    }
+}
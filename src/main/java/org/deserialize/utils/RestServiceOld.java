@@ -4,11 +4,11 @@ import com.enelx.bfw.framework.exception.BfwException;
 import com.enelx.bfw.framework.util.LabelUtils;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.catalina.util.ParameterMap;
 import org.apache.commons.lang3.StringUtils;
+import org.deserialize.utils.ObjectMapperRegistry;
 import org.apache.coyote.Response;
 import org.slf4j.MDC;
 import org.springframework.boot.web.client.RestTemplateBuilder;
@@ -38,8 +38,6 @@ import java.util.stream.Collectors;
 @Slf4j
 public class RestClientService {
 
-    private final ObjectMapper mapper = new ObjectMapper();
-
     private String url;
     private HttpMethod method;
     private Map<String, Object> queryParameters;
@@ -189,7 +187,7 @@ public class RestClientService {
 
         HttpEntity<String> entity;
         if (requestBody != null) {
-            entity = new HttpEntity<>(mapper.writeValueAsString(requestBody), headers);
+            entity = new HttpEntity<>(ObjectMapperRegistry.writer().writeValueAsString(requestBody), headers);
         } else {
             entity = new HttpEntity<>(headers);
         }
@@ -209,17 +207,17 @@ public class RestClientService {
                     method,
                     headers,
                     stopWatch.getTotalTimeMillis() + "ms",
-                    requestBody != null ? mapper.writeValueAsString(requestBody) : null,
+                    requestBody != null ? ObjectMapperRegistry.writer().writeValueAsString(requestBody) : null,
                     responseEntity.getStatusCode(),
                     responseEntity.getHeaders(),
                     resultAsString
             );
 
             if (resultClass != null) {
-                return (T) mapper.readValue(resultAsString, resultClass);
+                return (T) ObjectMapperRegistry.reader(resultClass).readValue(resultAsString);
             }
 
-            return mapper.readValue(resultAsString, new TypeReference<>() {});
+            return ObjectMapperRegistry.reader(new TypeReference<T>() {}).readValue(resultAsString);
 
         } catch (RestClientResponseException responseException) {
             stopWatch.stop();
@@ -231,7 +229,7 @@ public class RestClientService {
                     method,
                     headers,
                     stopWatch.getTotalTimeMillis() + "ms",
-                    requestBody != null ? mapper.writeValueAsString(requestBody) : null,
+                    requestBody != null ? ObjectMapperRegistry.writer().writeValueAsString(requestBody) : null,
                     HttpStatus.valueOf(responseException.getRawStatusCode()),
                     responseException.getResponseHeaders(),
                     responseErrorAsString
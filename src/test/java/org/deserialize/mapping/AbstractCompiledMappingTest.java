@@ -0,0 +1,127 @@
+package org.deserialize.mapping;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.deserialize.test.Test;
+import org.deserialize.test.TestDeserialize;
+import org.junit.jupiter.api.AfterEach;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Maps the {@code payload/test.json} document into {@link Test} with the {@code mapping/test.json} resource and
+ * compares the result with {@code payload/test-mapped.json}.
+ */
+class AbstractCompiledMappingTest {
+
+    private static final ObjectMapper mapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @AfterEach
+    void resetProperties() {
+        MappingPropertySource.setResolver(null);
+    }
+
+    @org.junit.jupiter.api.Test
+    void mapsTestPayloadInTreeMode() throws IOException {
+        useProperties("ignore-unknown-properties", "true", "mode", "tree");
+
+        assertEquals(expected(), mapped(new TestDeserialize()));
+    }
+
+    @org.junit.jupiter.api.Test
+    void mapsTestPayloadInStreamingMode() throws IOException {
+        useProperties("ignore-unknown-properties", "true", "mode", "streaming");
+
+        assertEquals(expected(), mapped(new TestDeserialize()));
+    }
+
+    @org.junit.jupiter.api.Test
+    void rejectsUnknownPropertiesByDefault() throws IOException {
+        useProperties();
+
+        assertThrows(MappingException.class, () -> mapped(new TestDeserialize()));
+    }
+
+    @org.junit.jupiter.api.Test
+    void recompilesPlansWhenTheResolverChanges() throws IOException {
+        useProperties();
+        TestDeserialize strict = new TestDeserialize();
+
+        useProperties("ignore-unknown-properties", "true");
+        TestDeserialize lenient = new TestDeserialize();
+
+        assertNotSame(strict.getPlan(), lenient.getPlan());
+        assertThrows(MappingException.class, () -> mapped(strict));
+        assertEquals(expected(), mapped(lenient));
+    }
+
+    @org.junit.jupiter.api.Test
+    void usesGeneratedDeserializerBuiltWithTheSameProperties() throws IOException {
+        // TestDeserializeGenerated is built at process-classes with ignore-unknown-properties=true
+        useProperties("ignore-unknown-properties", "true", "generated", "true");
+        TestDeserialize deserializer = new TestDeserialize();
+
+        assertNull(deserializer.getPlan());
+        assertEquals(expected(), mapped(deserializer));
+    }
+
+    @org.junit.jupiter.api.Test
+    void ignoresGeneratedDeserializerBuiltWithOtherProperties() throws IOException {
+        useProperties("generated", "true");
+        TestDeserialize deserializer = new TestDeserialize();
+
+        assertNotNull(deserializer.getPlan());
+        assertThrows(MappingException.class, () -> mapped(deserializer));
+    }
+
+    /**
+     * Sets the properties of the {@code test} resource, given as key/value pairs without the resource prefix.
+     */
+    static void useProperties(String... keyValues) {
+        Map<String, String> properties = new HashMap<>();
+        properties.put(MappingResourceProperties.key("test", MappingKeys.PATH), "mapping");
+        for (int i = 0; i < keyValues.length; i += 2) {
+            properties.put(MappingResourceProperties.key("test", keyValues[i]), keyValues[i + 1]);
+        }
+        MappingPropertySource.setResolver(properties::get);
+    }
+
+    static InputStream resource(String location) {
+        return AbstractCompiledMappingTest.class.getClassLoader().getResourceAsStream(location);
+    }
+
+    static JsonNode mapped(TestDeserialize deserializer) throws IOException {
+        try (InputStream payload = resource("payload/test.json")) {
+            return mapped(deserializer, payload, "application/json");
+        }
+    }
+
+    static JsonNode mapped(TestDeserialize deserializer, InputStream payload, String contentType) throws IOException {
+        // read back from text, so that numbers compare by value rather than by node type
+        ObjectNode mapped = (ObjectNode) mapper.readTree(mapper.writeValueAsString(deserializer.read(payload, contentType)));
+        // initialized to the current time by Test itself
+        mapped.remove("instant");
+        return mapped;
+    }
+
+    static JsonNode expected() throws IOException {
+        try (InputStream expected = resource("payload/test-mapped.json")) {
+            return mapper.readTree(expected);
+        }
+    }
+}
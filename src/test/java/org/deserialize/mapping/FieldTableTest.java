@@ -0,0 +1,92 @@
+package org.deserialize.mapping;
+
+import org.deserialize.test.Test;
+import org.junit.jupiter.api.AfterEach;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FieldTableTest {
+
+    private static final String PAYLOAD = "{\"inner\": {\"innerId\": \"i\", \"bogus\": {\"deep\": [1, {\"x\": 2}]}}, \"bogus\": [1, 2], \"id\": \"x\"}";
+
+    @AfterEach
+    void resetProperties() {
+        MappingPropertySource.setResolver(null);
+    }
+
+    @org.junit.jupiter.api.Test
+    void findsEveryNameInThePerfectHash() {
+        Map<String, Integer> entries = new LinkedHashMap<>();
+        for (int i = 0; i < 200; i++) {
+            entries.put("field" + i, i);
+        }
+        FieldTable<Integer> table = FieldTable.of(entries);
+
+        for (int i = 0; i < 200; i++) {
+            // not the canonical instance of the name, as a parser without interning would give
+            assertEquals(Integer.valueOf(i), table.get(new String("field" + i)));
+        }
+        assertNull(table.get("field200"));
+        assertNull(table.get(""));
+    }
+
+    @org.junit.jupiter.api.Test
+    void keepsAMapForCollidingHashCodes() {
+        // "Aa" and "BB" share their hash code: no multiplier separates them
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        FieldTable<String> table = FieldTable.of(Map.of("Aa", "first", "BB", "second", "C", "third"));
+
+        assertEquals("first", table.get("Aa"));
+        assertEquals("second", table.get("BB"));
+        assertEquals("third", table.get("C"));
+        assertNull(table.get("AaBB"));
+    }
+
+    @org.junit.jupiter.api.Test
+    void knowsNoNameWhenEmpty() {
+        assertNull(FieldTable.of(Map.of()).get("any"));
+    }
+
+    @org.junit.jupiter.api.Test
+    void skipsUnknownFieldsWhenIgnored() throws IOException {
+        for (MappingMode mode : MappingMode.values()) {
+            useProperties(mode, true);
+
+            Test mapped = map();
+
+            assertEquals("x", mapped.getId());
+            assertEquals("i", mapped.getInnerTest().getId());
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void rejectsUnknownFieldsOtherwise() {
+        for (MappingMode mode : MappingMode.values()) {
+            useProperties(mode, false);
+
+            MappingException e = assertThrows(MappingException.class, FieldTableTest::map);
+            assertTrue(e.getOriginalMessage().startsWith("Unknown property 'inner.bogus'"), e.getOriginalMessage());
+        }
+    }
+
+    private static void useProperties(MappingMode mode, boolean ignoreUnknownProperties) {
+        Map<String, String> properties = new HashMap<>();
+        properties.put(MappingResourceProperties.key("required", MappingKeys.MODE), mode.name());
+        properties.put(MappingResourceProperties.key("required", MappingKeys.IGNORE_UNKNOWN_PROPERTIES), String.valueOf(ignoreUnknownProperties));
+        MappingPropertySource.setResolver(properties::get);
+    }
+
+    private static Test map() throws IOException {
+        return new RequiredBindingsTest.RequiredDeserialize().read(new ByteArrayInputStream(PAYLOAD.getBytes(StandardCharsets.UTF_8)), "application/json");
+    }
+}
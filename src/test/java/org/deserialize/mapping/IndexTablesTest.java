@@ -0,0 +1,107 @@
+package org.deserialize.mapping;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.deserialize.test.ArrayContainer;
+import org.deserialize.test.ArrayObject;
+import org.junit.jupiter.api.AfterEach;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Maps {@code mapping/indexes.json}, whose {@code elements} entry overrides indexes 0 and 3 and excludes 1 and 4.
+ */
+class IndexTablesTest {
+
+    private static final String RESOURCE = "indexes";
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @AfterEach
+    void resetProperties() {
+        MappingPropertySource.setResolver(null);
+    }
+
+    @org.junit.jupiter.api.Test
+    void compilesDenseIndexTables() throws IOException {
+        TargetBinding binding = new IndexesDeserialize().getPlan().getRoot().getChild("elements").getBindings()[0];
+
+        BitSet excluded = new BitSet();
+        excluded.set(1);
+        excluded.set(4);
+        assertEquals(excluded, binding.getExcludedIndexes());
+
+        assertNotNull(binding.getValuePlan());
+        assertNull(binding.getElementPlan(0));
+        assertSame(binding.getValuePlan(), binding.getElementPlan(2));
+        assertSame(binding.getIndexPlans().get(3), binding.getElementPlan(3));
+        assertSame(binding.getValuePlan(), binding.getElementPlan(5));
+        assertSame(binding.getValuePlan(), binding.getElementPlan(1000));
+    }
+
+    @org.junit.jupiter.api.Test
+    void mapsOverriddenAndSkipsExcludedElements() throws IOException {
+        String payload = "{\"elements\": ["
+                + "{\"objectId\": 0, \"objectName\": \"as is\"},"
+                + "{\"id\": 1, \"name\": \"excluded\"},"
+                + "{\"id\": 2, \"name\": \"plain\"},"
+                + "{\"code\": 3, \"label\": \"overridden\"},"
+                + "{\"id\": 4, \"name\": \"excluded\"},"
+                + "{\"id\": 5, \"name\": \"plain\"}]}";
+
+        for (MappingMode mode : MappingMode.values()) {
+            useMode(mode);
+            List<ArrayObject> elements = new IndexesDeserialize()
+                    .read(new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8)), "application/json")
+                    .getListObject();
+
+            assertEquals(4, elements.size());
+            assertElement(elements.get(0), 0, "as is");
+            assertElement(elements.get(1), 2, "plain");
+            assertElement(elements.get(2), 3, "overridden");
+            assertElement(elements.get(3), 5, "plain");
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void rejectsNegativeOrNonNumericIndexes() throws IOException {
+        MappingCompiler compiler = new MappingCompiler(MappingResourceProperties.of(RESOURCE));
+
+        assertThrows(MappingException.class, () -> compiler.compile(ArrayContainer.class,
+                mapper.readTree("{\"elements\": {\"property\": \"listObject\", \"indexMapping\": {\"-1\": {}}}}")));
+        assertThrows(MappingException.class, () -> compiler.compile(ArrayContainer.class,
+                mapper.readTree("{\"elements\": {\"property\": \"listObject\", \"indexMapping\": {\"first\": {}}}}")));
+        assertThrows(MappingException.class, () -> compiler.compile(ArrayContainer.class,
+                mapper.readTree("{\"elements\": {\"property\": \"listObject\", \"excludeIndexes\": [-2]}}")));
+        assertThrows(MappingException.class, () -> compiler.compile(ArrayContainer.class,
+                mapper.readTree("{\"elements\": {\"property\": \"listObject\", \"excludeIndexes\": [\"last\"]}}")));
+    }
+
+    private static void assertElement(ArrayObject element, int id, String name) {
+        assertEquals(Integer.valueOf(id), element.getObjectId());
+        assertEquals(name, element.getObjectName());
+    }
+
+    private static void useMode(MappingMode mode) {
+        Map<String, String> properties = new HashMap<>();
+        properties.put(MappingResourceProperties.key(RESOURCE, MappingKeys.MODE), mode.name());
+        MappingPropertySource.setResolver(properties::get);
+    }
+
+    static final class IndexesDeserialize extends AbstractCompiledMapping<ArrayContainer> {
+
+        IndexesDeserialize() throws IOException {
+            super(ArrayContainer.class, RESOURCE, "mapping/indexes.json");
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package org.deserialize.mapping;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import org.deserialize.test.ArrayObject;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LazyValuesTest {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @org.junit.jupiter.api.Test
+    void mapsTheCapturedObjectOnceTheRequestParserIsClosed() throws IOException {
+        ArrayObject value;
+        try (JsonParser p = mapper.createParser("{\"value\": {\"objectId\": 7, \"objectName\": \"x\"}, \"next\": 1}")) {
+            p.nextToken();
+            p.nextToken();
+            p.nextToken();
+            DeserializationContext ctxt = ((DefaultDeserializationContext) mapper.getDeserializationContext())
+                    .createInstance(mapper.getDeserializationConfig(), p, null);
+
+            value = (ArrayObject) LazyValues.proxy(ArrayObject.class, p, ctxt,
+                    (lazyParser, lazyCtxt) -> lazyCtxt.readValue(lazyParser, ArrayObject.class));
+
+            assertEquals(JsonToken.END_OBJECT, p.currentToken());
+            assertEquals("next", p.nextFieldName());
+        }
+
+        assertEquals(Integer.valueOf(7), value.getObjectId());
+        assertEquals("x", value.getObjectName());
+    }
+}
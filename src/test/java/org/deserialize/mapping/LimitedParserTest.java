@@ -0,0 +1,162 @@
+package org.deserialize.mapping;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.deserialize.test.Test;
+import org.junit.jupiter.api.AfterEach;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LimitedParserTest {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @AfterEach
+    void resetProperties() {
+        MappingPropertySource.setResolver(null);
+    }
+
+    @org.junit.jupiter.api.Test
+    void limitsTheDepthByDefault() throws IOException {
+        MappingResourceProperties properties = properties();
+
+        assertEquals(MappingKeys.DEFAULT_MAX_DEPTH, properties.getMaxDepth());
+        try (JsonParser p = mapper.createParser("{}")) {
+            assertNotSame(p, LimitedParser.wrap(p, properties));
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void keepsThePlainParserWithoutLimits() throws IOException {
+        try (JsonParser p = mapper.createParser("{}")) {
+            assertSame(p, LimitedParser.wrap(p, properties(MappingKeys.MAX_DEPTH, "0")));
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void rejectsDocumentsDeeperThanTheMaxDepth() throws IOException {
+        MappingResourceProperties properties = properties(MappingKeys.MAX_DEPTH, "2");
+
+        assertTrue(read("{\"a\": {\"b\": 1}, \"c\": [1]}", properties));
+        assertThrows(MappingException.class, () -> read("{\"a\": {\"b\": [1]}}", properties));
+        assertThrows(MappingException.class, () -> skip("{\"a\": {\"b\": [1]}}", properties));
+    }
+
+    @org.junit.jupiter.api.Test
+    void rejectsArraysLongerThanTheMaxArrayLength() throws IOException {
+        MappingResourceProperties properties = properties(MappingKeys.MAX_ARRAY_LENGTH, "2");
+
+        assertTrue(read("{\"a\": [1, 2]}", properties));
+        assertThrows(MappingException.class, () -> read("{\"a\": [1, 2, 3]}", properties));
+    }
+
+    @org.junit.jupiter.api.Test
+    void rejectsStringsAndFieldNamesLongerThanTheMaxStringLength() throws IOException {
+        MappingResourceProperties properties = properties(MappingKeys.MAX_STRING_LENGTH, "3");
+
+        assertTrue(read("{\"abc\": \"def\"}", properties));
+        assertThrows(MappingException.class, () -> read("{\"a\": \"defg\"}", properties));
+        assertThrows(MappingException.class, () -> read("{\"abcd\": \"e\"}", properties));
+    }
+
+    @org.junit.jupiter.api.Test
+    void rejectsDocumentsWithMoreTokensThanTheMaxTokens() throws IOException {
+        // START_OBJECT, FIELD_NAME, START_ARRAY, 1, 2, END_ARRAY, END_OBJECT
+        MappingResourceProperties properties = properties(MappingKeys.MAX_TOKENS, "7");
+
+        assertTrue(read("{\"a\": [1, 2]}", properties));
+        assertThrows(MappingException.class, () -> read("{\"a\": [1, 2, 3]}", properties));
+    }
+
+    @org.junit.jupiter.api.Test
+    void countsTheTokensOfSkippedValues() throws IOException {
+        MappingResourceProperties properties = properties(MappingKeys.MAX_TOKENS, "7");
+
+        assertTrue(skip("{\"a\": [1, 2]}", properties));
+        assertThrows(MappingException.class, () -> skip("{\"a\": [1, 2, 3]}", properties));
+    }
+
+    @org.junit.jupiter.api.Test
+    void rejectsDeepInnerTestChainWithoutStackOverflow() throws IOException {
+        StringBuilder payload = new StringBuilder();
+        int depth = 100_000;
+        payload.append("{\"inner\": ".repeat(depth)).append("null").append("}".repeat(depth));
+        byte[] bytes = payload.toString().getBytes(StandardCharsets.UTF_8);
+
+        for (MappingMode mode : MappingMode.values()) {
+            Map<String, String> values = new HashMap<>();
+            values.put(MappingResourceProperties.key(DeepInnerDeserialize.RESOURCE, MappingKeys.MODE), mode.name());
+            values.put(MappingResourceProperties.key(DeepInnerDeserialize.RESOURCE, MappingKeys.MAX_DEPTH), "64");
+            MappingPropertySource.setResolver(values::get);
+            DeepInnerDeserialize deserializer = new DeepInnerDeserialize();
+
+            MappingException e = assertThrows(MappingException.class, () -> deserializer.read(new ByteArrayInputStream(bytes), "application/json"));
+            assertTrue(e.getOriginalMessage().contains("more than 64 nested levels"), e.getOriginalMessage());
+        }
+    }
+
+    private static MappingResourceProperties properties(String... keyValues) {
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            values.put(MappingResourceProperties.key("limited", keyValues[i]), keyValues[i + 1]);
+        }
+        MappingPropertySource.setResolver(values::get);
+        return MappingResourceProperties.of("limited");
+    }
+
+    /**
+     * Reads every token of the document.
+     *
+     * @return whether the whole document was read within the limits
+     */
+    private static boolean read(String json, MappingResourceProperties properties) throws IOException {
+        try (JsonParser p = mapper.createParser(json)) {
+            p.nextToken();
+            JsonParser limited = LimitedParser.wrap(p, properties);
+            int open = 1;
+            while (open > 0) {
+                JsonToken token = limited.nextToken();
+                open += token.isStructStart() ? 1 : token.isStructEnd() ? -1 : 0;
+            }
+            return limited.nextToken() == null;
+        }
+    }
+
+    /**
+     * Skips the document with {@link JsonParser#skipChildren()}, as an unknown field is skipped.
+     *
+     * @return whether the whole document was skipped within the limits
+     */
+    private static boolean skip(String json, MappingResourceProperties properties) throws IOException {
+        try (JsonParser p = mapper.createParser(json)) {
+            p.nextToken();
+            JsonParser limited = LimitedParser.wrap(p, properties);
+            limited.skipChildren();
+            return limited.nextToken() == null;
+        }
+    }
+
+    /**
+     * Maps the {@code inner} field of {@code mapping/deep-inner.json} into {@link Test#getInnerTest()}, read by the
+     * Jackson bean deserializer of {@link org.deserialize.test.InnerTest}, which recurses along {@code inner}.
+     */
+    static final class DeepInnerDeserialize extends AbstractCompiledMapping<Test> {
+
+        static final String RESOURCE = "deepInner";
+
+        DeepInnerDeserialize() throws IOException {
+            super(Test.class, RESOURCE, "mapping/deep-inner.json");
+        }
+    }
+}
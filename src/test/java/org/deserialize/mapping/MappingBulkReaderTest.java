@@ -0,0 +1,116 @@
+package org.deserialize.mapping;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappingBulkReaderTest {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @org.junit.jupiter.api.Test
+    void readsDocumentArray() throws IOException {
+        Collector collector = read(new MappingBulkReader<>(mapper, Value.class), " [\"a\", \"b\", \"c\"]");
+
+        assertEquals(List.of("0:a", "1:b", "2:c"), collector.events);
+    }
+
+    @org.junit.jupiter.api.Test
+    void readsNdjsonSkippingBlankLines() throws IOException {
+        Collector collector = read(new MappingBulkReader<>(mapper, Value.class), "\"a\"\r\n\n  \n\"b\"");
+
+        assertEquals(List.of("0:a", "1:b"), collector.events);
+    }
+
+    @org.junit.jupiter.api.Test
+    void reportsRuntimeExceptionsOfADocumentAndGoesOn() throws IOException {
+        Collector collector = read(new MappingBulkReader<>(mapper, Value.class), "[\"a\", \"fail\", \"c\"]");
+
+        assertEquals(List.of("0:a", "1!IllegalStateException", "2:c"), collector.events);
+    }
+
+    @org.junit.jupiter.api.Test
+    void reportsMalformedNdjsonLineAndGoesOn() throws IOException {
+        Collector collector = read(new MappingBulkReader<>(mapper, Value.class), "\"a\"\n\"b\n\"c\"\n");
+
+        assertEquals(3, collector.events.size());
+        assertEquals("0:a", collector.events.get(0));
+        assertTrue(collector.events.get(1).startsWith("1!"));
+        assertEquals("2:c", collector.events.get(2));
+    }
+
+    @org.junit.jupiter.api.Test
+    void reportsNdjsonLineLongerThanTheLimit() throws IOException {
+        Collector collector = read(new MappingBulkReader<>(mapper, Value.class, 8), "\"a\"\n\"" + "x".repeat(100) + "\"\r\n\"123456\"\r\n");
+
+        assertEquals(List.of("0:a", "1!MappingException", "2:123456"), collector.events);
+    }
+
+    @org.junit.jupiter.api.Test
+    void failsOnMalformedDocumentArray() {
+        assertThrows(IOException.class, () -> read(new MappingBulkReader<>(mapper, Value.class), "[\"a\", }"));
+    }
+
+    private static Collector read(MappingBulkReader<Value> reader, String body) throws IOException {
+        Collector collector = new Collector();
+        long count = reader.read(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), collector);
+        assertEquals(collector.events.size(), count);
+        return collector;
+    }
+
+    private static final class Collector implements MappingBulkReader.Listener<Value> {
+
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public void onDocument(long index, Value document) {
+            events.add(index + ":" + document.text);
+        }
+
+        @Override
+        public void onError(long index, Exception error) {
+            events.add(index + "!" + error.getClass().getSimpleName());
+        }
+    }
+
+    @JsonDeserialize(using = ValueDeserializer.class)
+    static final class Value {
+
+        private final String text;
+
+        Value(String text) {
+            this.text = text;
+        }
+    }
+
+    /**
+     * Fails outside of the jackson exception hierarchy on the {@code "fail"} document.
+     */
+    static final class ValueDeserializer extends StdDeserializer<Value> {
+
+        ValueDeserializer() {
+            super(Value.class);
+        }
+
+        @Override
+        public Value deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            String text = p.getValueAsString();
+            if ("fail".equals(text)) {
+                throw new IllegalStateException("cannot map " + text);
+            }
+            return new Value(text);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package org.deserialize.mapping;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.deserialize.test.TestDeserialize;
+import org.junit.jupiter.api.AfterEach;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Maps {@code payload/test.json} re-encoded as CBOR and Smile with the json mapping file.
+ */
+class MappingFormatTest {
+
+    @AfterEach
+    void resetProperties() {
+        MappingPropertySource.setResolver(null);
+    }
+
+    @org.junit.jupiter.api.Test
+    void resolvesTheFormatOfContentTypes() {
+        assertEquals(MappingFormat.CBOR, MappingFormat.forContentType("application/cbor"));
+        assertEquals(MappingFormat.SMILE, MappingFormat.forContentType("Application/X-Jackson-Smile; q=1"));
+        assertEquals(MappingFormat.JSON, MappingFormat.forContentType("application/json;charset=UTF-8"));
+        assertEquals(MappingFormat.JSON, MappingFormat.forContentType("application/problem+json"));
+        assertNull(MappingFormat.forContentType("text/plain"));
+        assertNull(MappingFormat.forContentType(null));
+    }
+
+    @org.junit.jupiter.api.Test
+    void mapsCborPayloadsWithTheJsonMapping() throws IOException {
+        AbstractCompiledMappingTest.useProperties("ignore-unknown-properties", "true");
+
+        assertEquals(AbstractCompiledMappingTest.expected(), mapped(MappingFormat.CBOR, MappingFormat.CBOR.getMediaType()));
+    }
+
+    @org.junit.jupiter.api.Test
+    void mapsSmilePayloadsWithTheJsonMappingInStreamingMode() throws IOException {
+        AbstractCompiledMappingTest.useProperties("ignore-unknown-properties", "true", "mode", "streaming");
+
+        assertEquals(AbstractCompiledMappingTest.expected(), mapped(MappingFormat.SMILE, MappingFormat.SMILE.getMediaType()));
+    }
+
+    @org.junit.jupiter.api.Test
+    void usesTheResourceFormatWhenTheContentTypeDoesNotTell() throws IOException {
+        AbstractCompiledMappingTest.useProperties("ignore-unknown-properties", "true", "format", "cbor");
+
+        assertEquals(AbstractCompiledMappingTest.expected(), mapped(MappingFormat.CBOR, "application/octet-stream"));
+    }
+
+    private static JsonNode mapped(MappingFormat format, String contentType) throws IOException {
+        byte[] encoded;
+        try (InputStream payload = AbstractCompiledMappingTest.resource("payload/test.json")) {
+            encoded = format.getMapper().writeValueAsBytes(MappingFormat.JSON.getMapper().readTree(payload));
+        }
+
+        return AbstractCompiledMappingTest.mapped(new TestDeserialize(), new ByteArrayInputStream(encoded), contentType);
+    }
+}
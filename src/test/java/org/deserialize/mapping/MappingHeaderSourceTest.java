@@ -0,0 +1,96 @@
+package org.deserialize.mapping;
+
+import org.deserialize.test.Test;
+import org.junit.jupiter.api.AfterEach;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Maps {@code mapping/headers.json}, whose entries other than {@code id} are read from the request headers.
+ */
+class MappingHeaderSourceTest {
+
+    private static final String RESOURCE = "headers";
+
+    @AfterEach
+    void resetSources() {
+        MappingPropertySource.setResolver(null);
+        MappingHeaderSource.setResolver(null);
+    }
+
+    @org.junit.jupiter.api.Test
+    void bindsHeaderEntriesWithTheBody() throws IOException {
+        for (MappingMode mode : MappingMode.values()) {
+            useHeaders(mode, Map.of("x-name", "from-header", "x-number", "5", "x-inner-id", "inner"));
+
+            Test mapped = map("{\"id\": \"x\"}");
+
+            assertEquals("x", mapped.getId());
+            assertEquals("from-header", mapped.getName());
+            assertEquals(Integer.valueOf(5), mapped.getLittleNumber());
+            assertEquals("inner", mapped.getInnerTest().getId());
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void appliesDefaultsAndRequiredChecksToHeaders() throws IOException {
+        useHeaders(MappingMode.STREAMING, Map.of("x-inner-id", "inner"));
+
+        Test mapped = map("{\"id\": \"x\"}");
+        assertNull(mapped.getName());
+        assertEquals(Integer.valueOf(7), mapped.getLittleNumber());
+
+        useHeaders(MappingMode.STREAMING, Map.of("x-name", "from-header"));
+        assertThrows(MappingException.class, () -> map("{\"id\": \"x\"}"));
+    }
+
+    @org.junit.jupiter.api.Test
+    void leavesHeaderEntriesUnsetWithoutResolver() throws IOException {
+        Map<String, String> properties = new HashMap<>();
+        properties.put(MappingResourceProperties.key(RESOURCE, MappingKeys.MODE), MappingMode.TREE.name());
+        MappingPropertySource.setResolver(properties::get);
+
+        assertThrows(MappingException.class, () -> map("{\"id\": \"x\"}"));
+        assertNull(MappingHeaderSource.getHeader("x-name"));
+    }
+
+    @org.junit.jupiter.api.Test
+    void readsTheHeadersBoundToTheThread() {
+        MappingHeaderSource.setResolver(name -> "from-resolver");
+
+        Map<String, String> previous = MappingHeaderSource.bind(Map.of("x-name", "bound"));
+        try {
+            assertEquals("bound", MappingHeaderSource.getHeader("x-name"));
+            assertNull(MappingHeaderSource.getHeader("x-other"));
+        } finally {
+            MappingHeaderSource.restore(previous);
+        }
+        assertEquals("from-resolver", MappingHeaderSource.getHeader("x-name"));
+    }
+
+    private static void useHeaders(MappingMode mode, Map<String, String> headers) {
+        Map<String, String> properties = new HashMap<>();
+        properties.put(MappingResourceProperties.key(RESOURCE, MappingKeys.MODE), mode.name());
+        MappingPropertySource.setResolver(properties::get);
+        MappingHeaderSource.setResolver(headers::get);
+    }
+
+    private static Test map(String payload) throws IOException {
+        return new HeadersDeserialize().read(new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8)), "application/json");
+    }
+
+    static final class HeadersDeserialize extends AbstractCompiledMapping<Test> {
+
+        HeadersDeserialize() throws IOException {
+            super(Test.class, RESOURCE, "mapping/headers.json");
+        }
+    }
+}
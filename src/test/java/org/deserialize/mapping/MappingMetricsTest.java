@@ -0,0 +1,95 @@
+package org.deserialize.mapping;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.deserialize.test.TestDeserialize;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reads the meters of {@link MappingMetrics} from a registry added to {@link Metrics#globalRegistry}, as Spring Boot
+ * does with the application registry.
+ */
+class MappingMetricsTest {
+
+    private MeterRegistry registry;
+
+    @BeforeEach
+    void addRegistry() {
+        registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+    }
+
+    @AfterEach
+    void removeRegistry() {
+        Metrics.removeRegistry(registry);
+        MappingPropertySource.setResolver(null);
+    }
+
+    @org.junit.jupiter.api.Test
+    void publishesTheMetersOfAMappedDocument() throws IOException {
+        AbstractCompiledMappingTest.useProperties("ignore-unknown-properties", "true");
+        TestDeserialize deserializer = new TestDeserialize();
+        byte[] payload;
+        try (InputStream in = AbstractCompiledMappingTest.resource("payload/test.json")) {
+            payload = in.readAllBytes();
+        }
+
+        deserializer.read(new ByteArrayInputStream(payload), "application/json");
+
+        assertEquals(1, registry.find(MappingMetrics.PARSE)
+                .tags("mapping", "TestDeserialize", "resource", "test", "outcome", "success").timer().count());
+        assertEquals(0, registry.find(MappingMetrics.PARSE).tags("outcome", "failure").timer().count());
+        // from the first to the last token, the trailing newline is not read
+        assertEquals(new String(payload, StandardCharsets.UTF_8).trim().length(),
+                registry.find(MappingMetrics.PAYLOAD).tags("mapping", "TestDeserialize", "resource", "test").summary().totalAmount());
+        assertTrue(registry.find(MappingMetrics.FIELDS).tags("kind", "mapped").summary().totalAmount() > 0);
+        // "foo" is the only field neither mapped nor bound to an unmapped property
+        assertEquals(1.0, registry.find(MappingMetrics.FIELDS).tags("kind", "unknown").summary().totalAmount());
+        assertEquals(0.0, registry.find(MappingMetrics.FIELDS).tags("kind", "skipped").summary().totalAmount());
+        assertEquals(0.0, registry.find(MappingMetrics.DEFAULTS).tags("resource", "test").counter().count());
+    }
+
+    @org.junit.jupiter.api.Test
+    void countsFailuresByException() throws IOException {
+        AbstractCompiledMappingTest.useProperties();
+        TestDeserialize deserializer = new TestDeserialize();
+
+        assertThrows(MappingException.class, () -> AbstractCompiledMappingTest.mapped(deserializer));
+
+        assertEquals(1.0, registry.find(MappingMetrics.FAILURES)
+                .tags("mapping", "TestDeserialize", "resource", "test", "exception", "MappingException").counter().count());
+        assertEquals(1, registry.find(MappingMetrics.PARSE).tags("outcome", "failure").timer().count());
+        assertEquals(0, registry.find(MappingMetrics.PARSE).tags("outcome", "success").timer().count());
+    }
+
+    @org.junit.jupiter.api.Test
+    void countsAppliedDefaults() throws IOException {
+        new RequiredBindingsTest.RequiredDeserialize()
+                .read(new ByteArrayInputStream("{\"inner\": {\"innerId\": \"i\"}, \"id\": \"x\"}".getBytes(StandardCharsets.UTF_8)), "application/json");
+
+        assertEquals(1.0, registry.find(MappingMetrics.DEFAULTS)
+                .tags("mapping", "RequiredDeserialize", "resource", "required").counter().count());
+    }
+
+    @org.junit.jupiter.api.Test
+    void registersNothingWhenDisabled() throws IOException {
+        AbstractCompiledMappingTest.useProperties("ignore-unknown-properties", "true", "metrics", "false");
+
+        AbstractCompiledMappingTest.mapped(new TestDeserialize());
+
+        assertNull(registry.find(MappingMetrics.PARSE).tags("resource", "test").timer());
+        assertNull(registry.find(MappingMetrics.FIELDS).tags("resource", "test").summary());
+    }
+}
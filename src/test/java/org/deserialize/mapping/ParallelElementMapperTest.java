@@ -0,0 +1,112 @@
+package org.deserialize.mapping;
+
+import org.deserialize.test.ArrayContainer;
+import org.deserialize.test.ArrayObject;
+import org.junit.jupiter.api.AfterEach;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Maps the elements of {@code mapping/parallel-elements.json}, whose {@code objectName} comes from a header, with
+ * parallel mapping enabled.
+ */
+class ParallelElementMapperTest {
+
+    private static final String RESOURCE = "parallelElements";
+
+    private final AtomicInteger headerReads = new AtomicInteger();
+
+    @AfterEach
+    void resetSources() {
+        MappingPropertySource.setResolver(null);
+        MappingHeaderSource.setResolver(null);
+    }
+
+    @org.junit.jupiter.api.Test
+    void mapsWholeArraysFromTheThresholdInParallel() throws IOException {
+        useParallelThreshold(2);
+
+        ArrayObject[] elements = map(500).getArrayObjects();
+
+        assertEquals(500, elements.length);
+        for (int i = 0; i < elements.length; i++) {
+            assertEquals(Integer.valueOf(i), elements[i].getObjectId());
+            assertEquals("request-name", elements[i].getObjectName());
+        }
+        // once on the calling thread for all the elements, none of them is mapped there
+        assertEquals(1, headerReads.get());
+    }
+
+    @org.junit.jupiter.api.Test
+    void mapsArraysOfExactlyTheThresholdInParallel() throws IOException {
+        useParallelThreshold(10);
+
+        ArrayObject[] elements = map(10).getArrayObjects();
+
+        assertEquals(10, elements.length);
+        assertEquals(Integer.valueOf(9), elements[9].getObjectId());
+        assertEquals("request-name", elements[9].getObjectName());
+        assertEquals(1, headerReads.get());
+    }
+
+    @org.junit.jupiter.api.Test
+    void mapsSmallerArraysOnTheCallingThread() throws IOException {
+        useParallelThreshold(10);
+
+        ArrayObject[] elements = map(9).getArrayObjects();
+
+        assertEquals(9, elements.length);
+        for (int i = 0; i < elements.length; i++) {
+            assertEquals(Integer.valueOf(i), elements[i].getObjectId());
+            assertEquals("request-name", elements[i].getObjectName());
+        }
+        assertEquals(9, headerReads.get());
+    }
+
+    @org.junit.jupiter.api.Test
+    void mapsTestPayloadInParallel() throws IOException {
+        AbstractCompiledMappingTest.useProperties("ignore-unknown-properties", "true", "parallel-threshold", "1");
+
+        assertEquals(AbstractCompiledMappingTest.expected(), AbstractCompiledMappingTest.mapped(new org.deserialize.test.TestDeserialize()));
+    }
+
+    private void useParallelThreshold(int threshold) {
+        Map<String, String> properties = new HashMap<>();
+        properties.put(MappingResourceProperties.key(RESOURCE, MappingKeys.PARALLEL_THRESHOLD), String.valueOf(threshold));
+        MappingPropertySource.setResolver(properties::get);
+
+        // like a request context, only visible to the thread that received the request
+        Thread requestThread = Thread.currentThread();
+        MappingHeaderSource.setResolver(name -> {
+            if (Thread.currentThread() != requestThread) {
+                return null;
+            }
+            headerReads.incrementAndGet();
+            return "x-object-name".equals(name) ? "request-name" : null;
+        });
+    }
+
+    private static ArrayContainer map(int size) throws IOException {
+        StringBuilder payload = new StringBuilder("{\"elements\": [");
+        for (int i = 0; i < size; i++) {
+            payload.append(i > 0 ? ", " : "").append("{\"id\": ").append(i).append('}');
+        }
+        payload.append("]}");
+
+        return new ContainerDeserialize().read(new ByteArrayInputStream(payload.toString().getBytes(StandardCharsets.UTF_8)), "application/json");
+    }
+
+    static final class ContainerDeserialize extends AbstractCompiledMapping<ArrayContainer> {
+
+        ContainerDeserialize() throws IOException {
+            super(ArrayContainer.class, RESOURCE, "mapping/parallel-elements.json");
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package org.deserialize.mapping;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import org.deserialize.test.TestDeserialize;
+import org.junit.jupiter.api.AfterEach;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PrimitiveArrayReaderTest {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final TypeFactory types = TypeFactory.defaultInstance();
+
+    @AfterEach
+    void resetProperties() {
+        MappingPropertySource.setResolver(null);
+    }
+
+    @org.junit.jupiter.api.Test
+    void bindsTheNumberTargetsOfTest() throws IOException {
+        AbstractCompiledMappingTest.useProperties("ignore-unknown-properties", "true");
+        SourceNode root = new TestDeserialize().getPlan().getRoot();
+
+        for (String source : List.of("vet1", "list1", "set2", "arrayOfArrayInteger")) {
+            assertNotNull(root.getChild(source).getBindings()[0].getPrimitiveArrayReader(), source);
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void readsBoxedArraysWithNullsAndExcludedIndexes() throws IOException {
+        Object values = read(types.constructType(Integer[].class), "[1, null, \"3\", 4]", 3);
+
+        assertArrayEquals(new Integer[]{1, null, 3}, (Integer[]) values);
+    }
+
+    @org.junit.jupiter.api.Test
+    void readsNestedBoxedArrays() throws IOException {
+        Integer[][] values = (Integer[][]) read(types.constructType(Integer[][].class), "[[1, 2], null, [3]]");
+
+        assertEquals(3, values.length);
+        assertArrayEquals(new Integer[]{1, 2}, values[0]);
+        assertNull(values[1]);
+        assertArrayEquals(new Integer[]{3}, values[2]);
+    }
+
+    @org.junit.jupiter.api.Test
+    void readsCollectionsOfTheDeclaredClass() throws IOException {
+        Object list = read(types.constructCollectionType(LinkedList.class, Integer.class), "[4, 5, 6]", 1);
+        Object set = read(types.constructCollectionType(Set.class, Integer.class), "[2, 1, 2]");
+        Object longs = read(types.constructCollectionType(ArrayList.class, Long.class), "[10000000000, 2.0]");
+        Object doubles = read(types.constructCollectionType(List.class, Double.class), "[1, 2.5]");
+
+        assertEquals(LinkedList.class, list.getClass());
+        assertEquals(List.of(4, 6), list);
+        assertEquals(LinkedHashSet.class, set.getClass());
+        assertEquals(List.of(2, 1), new ArrayList<>((Set<?>) set));
+        assertEquals(List.of(10000000000L, 2L), longs);
+        assertEquals(List.of(1.0, 2.5), doubles);
+    }
+
+    @org.junit.jupiter.api.Test
+    void ignoresOtherElementTypes() {
+        assertNull(PrimitiveArrayReader.forType(types.constructCollectionType(List.class, String.class)));
+        assertNull(PrimitiveArrayReader.forType(types.constructType(String[].class)));
+    }
+
+    private static Object read(JavaType type, String json, int... excludeIndexes) throws IOException {
+        BitSet excluded = new BitSet();
+        for (int index : excludeIndexes) {
+            excluded.set(index);
+        }
+
+        try (JsonParser p = mapper.createParser(json)) {
+            p.nextToken();
+            DeserializationContext ctxt = ((DefaultDeserializationContext) mapper.getDeserializationContext())
+                    .createInstance(mapper.getDeserializationConfig(), p, null);
+            return PrimitiveArrayReader.forType(type).read(p, ctxt, excluded);
+        }
+    }
+}
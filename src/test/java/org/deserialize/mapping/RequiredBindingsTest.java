@@ -0,0 +1,94 @@
+package org.deserialize.mapping;
+
+import org.deserialize.test.Test;
+import org.junit.jupiter.api.AfterEach;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Maps {@code mapping/required.json}, whose {@code inner.innerId} is required and {@code name} defaulted.
+ */
+class RequiredBindingsTest {
+
+    private static final String RESOURCE = "required";
+
+    @AfterEach
+    void resetProperties() {
+        MappingPropertySource.setResolver(null);
+    }
+
+    @org.junit.jupiter.api.Test
+    void appliesDefaultsOfMissingValues() throws IOException {
+        useMode(MappingMode.STREAMING);
+
+        Test mapped = map("{\"inner\": {\"innerId\": \"i\"}, \"id\": \"x\"}");
+
+        assertEquals("i", mapped.getInnerTest().getId());
+        assertEquals("unnamed", mapped.getName());
+        assertEquals("x", mapped.getId());
+    }
+
+    @org.junit.jupiter.api.Test
+    void keepsPresentValuesOverDefaults() throws IOException {
+        useMode(MappingMode.TREE);
+
+        assertEquals("given", map("{\"inner\": {\"innerId\": \"i\"}, \"name\": \"given\"}").getName());
+    }
+
+    @org.junit.jupiter.api.Test
+    void failsOnMissingRequiredValueBeforeReadingTheRestOfTheDocument() {
+        useMode(MappingMode.STREAMING);
+
+        // the rest of the document is not even json: reading it would fail with a parse error instead
+        MappingException e = assertThrows(MappingException.class, () -> map("{\"inner\": {\"innerName\": \"n\"}, \"id\": }}}"));
+        assertTrue(e.getOriginalMessage().startsWith("Missing required property"), e.getOriginalMessage());
+    }
+
+    @org.junit.jupiter.api.Test
+    void treatsNullRequiredValuesAsMissing() {
+        useMode(MappingMode.TREE);
+
+        assertThrows(MappingException.class, () -> map("{\"inner\": {\"innerId\": null}}"));
+        assertThrows(MappingException.class, () -> map("{\"id\": \"x\"}"));
+    }
+
+    @org.junit.jupiter.api.Test
+    void findsMissingBitsAcrossWords() {
+        long[] bits = CompletionBits.forSize(70);
+        long[] mask = CompletionBits.forSize(70);
+        CompletionBits.set(mask, 3);
+        CompletionBits.set(mask, 68);
+
+        CompletionBits.set(bits, 3);
+        assertEquals(68, CompletionBits.firstMissing(bits, mask));
+
+        CompletionBits.set(bits, 68);
+        assertTrue(CompletionBits.isSet(bits, 68));
+        assertEquals(-1, CompletionBits.firstMissing(bits, mask));
+    }
+
+    private static void useMode(MappingMode mode) {
+        Map<String, String> properties = new HashMap<>();
+        properties.put(MappingResourceProperties.key(RESOURCE, MappingKeys.MODE), mode.name());
+        MappingPropertySource.setResolver(properties::get);
+    }
+
+    private static Test map(String payload) throws IOException {
+        return new RequiredDeserialize().read(new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8)), "application/json");
+    }
+
+    static final class RequiredDeserialize extends AbstractCompiledMapping<Test> {
+
+        RequiredDeserialize() throws IOException {
+            super(Test.class, RESOURCE, "mapping/required.json");
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package org.deserialize.mapping;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.deserialize.test.Test;
+import org.deserialize.test.TestDeserialize;
+import org.deserialize.test.TestSerializer;
+import org.junit.jupiter.api.AfterEach;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Writes the object mapped from {@code payload/test.json} with {@link TestSerializer} and compares the output with
+ * that payload, field by field in the order of {@code mapping/test.json}.
+ */
+class ShapeWriterTest {
+
+    private static final ObjectMapper mapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @AfterEach
+    void resetProperties() {
+        MappingPropertySource.setResolver(null);
+    }
+
+    @org.junit.jupiter.api.Test
+    void writesTheExternalShapeOfTestJson() throws IOException {
+        AbstractCompiledMappingTest.useProperties("ignore-unknown-properties", "true");
+        JsonNode written = mapper.readTree(write(read()));
+        ObjectNode expected = (ObjectNode) payload();
+        // what the mapping cannot restore: setInteger drops the duplicate, the missing set1 name is written as null,
+        // the epoch millis of longDate come back as a Date in the mapper format
+        expected.set("set2", mapper.readTree("[1, 2]"));
+        expected.set("set1", mapper.readTree("[{\"id\": 8, \"inn\": {\"name\": null}}]"));
+        expected.put("longDate", mapper.getDateFormat().format(new Date(expected.get("longDate").asLong())));
+
+        List<String> mappedFields = new ArrayList<>();
+        mapping().fieldNames().forEachRemaining(mappedFields::add);
+        List<String> writtenFields = new ArrayList<>();
+        written.fieldNames().forEachRemaining(writtenFields::add);
+
+        assertEquals(mappedFields, writtenFields.subList(0, mappedFields.size()));
+        for (String field : mappedFields) {
+            assertEquals(expected.get(field), written.get(field), field);
+        }
+        assertEquals(expected.get("unmappedProperty"), written.get("unmappedProperty"));
+        assertEquals(expected.get("unmappedPropertyInteger"), written.get("unmappedPropertyInteger"));
+    }
+
+    @org.junit.jupiter.api.Test
+    void readsItsOwnOutputBack() throws IOException {
+        for (MappingMode mode : MappingMode.values()) {
+            AbstractCompiledMappingTest.useProperties("ignore-unknown-properties", "true", "mode", mode.name());
+            byte[] written = write(read());
+
+            assertEquals(AbstractCompiledMappingTest.expected(),
+                    AbstractCompiledMappingTest.mapped(new TestDeserialize(), new ByteArrayInputStream(written), "application/json"));
+        }
+    }
+
+    private static Test read() throws IOException {
+        try (InputStream payload = AbstractCompiledMappingTest.resource("payload/test.json")) {
+            return new TestDeserialize().read(payload, "application/json");
+        }
+    }
+
+    private static byte[] write(Test test) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new TestSerializer().writeTo(mapper, test, out);
+        return out.toByteArray();
+    }
+
+    private static JsonNode payload() throws IOException {
+        try (InputStream payload = AbstractCompiledMappingTest.resource("payload/test.json")) {
+            return mapper.readTree(payload);
+        }
+    }
+
+    private static JsonNode mapping() throws IOException {
+        try (InputStream mapping = AbstractCompiledMappingTest.resource("mapping/test.json")) {
+            return mapper.readTree(mapping);
+        }
+    }
+}
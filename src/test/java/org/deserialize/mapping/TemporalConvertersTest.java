@@ -0,0 +1,81 @@
+package org.deserialize.mapping;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TemporalConvertersTest {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @org.junit.jupiter.api.Test
+    void sharesOneUtcFormatterPerPattern() throws MappingException {
+        DateTimeFormatter formatter = TemporalConverters.formatter("yyyy-MM-dd HH:mm");
+
+        assertSame(formatter, TemporalConverters.formatter("yyyy-MM-dd HH:mm"));
+        assertEquals(ZoneOffset.UTC, formatter.getZone());
+    }
+
+    @org.junit.jupiter.api.Test
+    void readsValuesWithoutZoneAsUtc() throws IOException {
+        assertEquals(Instant.parse("2020-01-02T10:11:00Z"),
+                convert(TemporalConverters.forType(Instant.class, "yyyy-MM-dd HH:mm"), "\"2020-01-02 10:11\""));
+        assertEquals(Date.from(Instant.parse("2020-01-02T00:00:00Z")),
+                convert(TemporalConverters.forType(Date.class, "yyyy-MM-dd"), "\"2020-01-02\""));
+    }
+
+    @org.junit.jupiter.api.Test
+    void adjustsZonedValuesToUtc() throws IOException {
+        assertEquals(Instant.parse("2020-01-02T08:11:00Z"),
+                convert(TemporalConverters.forType(Instant.class, "yyyy-MM-dd'T'HH:mmXXX"), "\"2020-01-02T10:11+02:00\""));
+    }
+
+    @org.junit.jupiter.api.Test
+    void readsEpochMillisDatesWithOrWithoutFormat() throws IOException {
+        assertEquals(new Date(1600000000000L), convert(TemporalConverters.forType(Date.class, null), "1600000000000"));
+        assertEquals(new Date(1600000000000L), convert(TemporalConverters.forType(Date.class, "yyyy-MM-dd"), "1600000000000"));
+    }
+
+    @org.junit.jupiter.api.Test
+    void parsesLocalTypesWithTheFormat() throws IOException {
+        ValueConverter converter = TemporalConverters.forType(LocalDate.class, "dd/MM/yyyy");
+
+        assertEquals(LocalDate.of(2020, 1, 2), convert(converter, "\"02/01/2020\""));
+        assertNull(convert(converter, "\" \""));
+        assertThrows(MappingException.class, () -> convert(converter, "\"2020-01-02\""));
+    }
+
+    @org.junit.jupiter.api.Test
+    void needsNoConverterForOtherTypesWithoutFormat() throws MappingException {
+        assertNull(TemporalConverters.forType(LocalDate.class, null));
+        assertNull(TemporalConverters.forType(String.class, null));
+    }
+
+    @org.junit.jupiter.api.Test
+    void rejectsFormatOfNonTemporalTypes() {
+        assertThrows(MappingException.class, () -> TemporalConverters.forType(String.class, "yyyy-MM-dd"));
+        assertThrows(MappingException.class, () -> TemporalConverters.forType(LocalDate.class, "yyyy-MM-dd{"));
+    }
+
+    private static Object convert(ValueConverter converter, String json) throws IOException {
+        try (JsonParser p = mapper.createParser(json)) {
+            p.nextToken();
+            DeserializationContext ctxt = ((DefaultDeserializationContext) mapper.getDeserializationContext())
+                    .createInstance(mapper.getDeserializationConfig(), p, null);
+            return converter.convert(p, ctxt);
+        }
+    }
+}
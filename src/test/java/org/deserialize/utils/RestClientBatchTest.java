@@ -0,0 +1,136 @@
+package com.enel.eic.commons.rest;
+
+import com.enel.eic.commons.exception.CommonsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RestClientBatchTest {
+
+    private static final int CALLS = 20;
+
+    private RestTestServer server;
+    private ExecutorService executor;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void startServer() throws IOException {
+        executor = Executors.newFixedThreadPool(CALLS);
+        server = RestTestServer.start()
+                .handle("/item/", exchange -> {
+                    int index = Integer.parseInt(exchange.getRequestURI().getPath().substring("/item/".length()));
+                    // the first calls answer last
+                    sleep((CALLS - index) * 5L);
+                    RestTestServer.respond(exchange, 200, "{\"index\": " + index + "}");
+                })
+                .handle("/error", exchange -> RestTestServer.respond(exchange, 500, "{\"error\": \"ko\"}"))
+                .handle("/slow", exchange -> {
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    RestTestServer.respond(exchange, 200, "{\"index\": -1}");
+                });
+    }
+
+    @AfterEach
+    void stopServer() {
+        release.countDown();
+        server.close();
+        executor.shutdownNow();
+        RestClientService.shutdown();
+    }
+
+    @Test
+    void capsTheCallsInFlightAndKeepsTheRequestOrder() {
+        List<Integer> indexes = IntStream.range(0, CALLS).boxed().collect(Collectors.toList());
+
+        List<RestClientBatch.Result<Map<String, Integer>>> results = RestClientBatch.<Integer, Map<String, Integer>>of(indexes, index -> item(index))
+                .concurrency(3)
+                .executor(executor)
+                .execute();
+
+        assertEquals(CALLS, results.size());
+        for (int index = 0; index < CALLS; index++) {
+            RestClientBatch.Result<Map<String, Integer>> result = results.get(index);
+            assertTrue(result.isSuccess());
+            assertEquals(index, result.index());
+            assertEquals(index, result.value().get("index"));
+        }
+        assertTrue(server.getMaxInFlight() <= 3, "calls in flight: " + server.getMaxInFlight());
+    }
+
+    @Test
+    void failsOnlyTheCallsPastTheirDeadline() {
+        List<RestClientBatch.Result<Map<String, Integer>>> results = RestClientBatch.<Map<String, Integer>>of(List.of(
+                        item(0),
+                        call("/slow"),
+                        item(2)))
+                .timeout(Duration.ofMillis(300))
+                .executor(executor)
+                .execute();
+
+        assertTrue(results.get(0).isSuccess());
+        assertInstanceOf(TimeoutException.class, results.get(1).error());
+        assertTrue(results.get(1).elapsed().compareTo(Duration.ofSeconds(5)) < 0);
+        assertTrue(results.get(2).isSuccess());
+        assertEquals(2, results.get(2).value().get("index"));
+    }
+
+    @Test
+    void isolatesTheFailedCalls() {
+        List<RestClientBatch.Result<Map<String, Integer>>> results = RestClientBatch.<String, Map<String, Integer>>of(List.of("0", "error", "template", "3"), parameter -> {
+                    if (parameter.equals("template")) {
+                        throw new IllegalStateException("no request for " + parameter);
+                    }
+                    return parameter.equals("error") ? call("/error") : item(Integer.parseInt(parameter));
+                })
+                .concurrency(1)
+                .executor(executor)
+                .execute();
+
+        assertEquals(0, results.get(0).value().get("index"));
+        assertInstanceOf(CommonsException.class, results.get(1).error());
+        assertInstanceOf(IllegalStateException.class, results.get(2).error());
+        assertFalse(results.get(2).isSuccess());
+        assertEquals(3, results.get(3).value().get("index"));
+    }
+
+    private RestClientService item(int index) {
+        return call("/item/{index}").pathParameter("index", String.valueOf(index));
+    }
+
+    private RestClientService call(String path) {
+        return RestClientService.instance()
+                .url(server.url(path))
+                .method(HttpMethod.GET)
+                .resultClass(Map.class);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
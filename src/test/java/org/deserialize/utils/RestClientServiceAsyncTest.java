@@ -0,0 +1,130 @@
+package com.enel.eic.commons.rest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RestClientServiceAsyncTest {
+
+    private RestTestServer server;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = RestTestServer.start()
+                .handle("/ok", exchange -> RestTestServer.respond(exchange, 200, "{\"value\": \"ok\"}"))
+                .handle("/unavailable", exchange -> RestTestServer.respond(exchange, 503, "{\"error\": \"unavailable\"}"));
+    }
+
+    @AfterEach
+    void stopServer() {
+        release.countDown();
+        server.close();
+        MDC.clear();
+        RestClientService.setAsyncExecutor(null);
+        RestClientService.shutdown();
+    }
+
+    @Test
+    void carriesTheHeadersAndTheLoggingContextOfTheCaller() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // the call waits behind this task, after the caller has changed the instance and its context
+            executor.execute(this::awaitRelease);
+            RestClientService service = RestClientService.instance()
+                    .url(server.url("/ok"))
+                    .method(HttpMethod.GET)
+                    .header("X-Trace", "first")
+                    .onSuccessResponse((body, headers) -> MDC.get("transactionId"));
+
+            MDC.put("transactionId", "tx-1");
+            CompletableFuture<String> call = service.exchangeAsync(executor);
+            service.header("X-Trace", "second");
+            MDC.put("transactionId", "tx-2");
+            release.countDown();
+
+            assertEquals("tx-1", call.get(10, TimeUnit.SECONDS));
+            assertEquals("first", server.getRequestHeaders().get(0).getFirst("X-Trace"));
+            // the context of the worker is restored once the call is over
+            assertNull(CompletableFuture.supplyAsync(() -> MDC.get("transactionId"), executor).get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void retriesEachCallOnce() throws Exception {
+        RestClientService service = RestClientService.instance()
+                .url(server.url("/unavailable"))
+                .method(HttpMethod.GET)
+                .resultClass(String.class)
+                .onHttpStatusError(HttpStatus.SERVICE_UNAVAILABLE, param -> Boolean.TRUE.equals(param.retryDone()) ? "gave up" : Boolean.TRUE);
+
+        CompletableFuture<String> first = service.exchangeAsync();
+        CompletableFuture<String> second = service.exchangeAsync();
+
+        assertEquals("gave up", first.get(10, TimeUnit.SECONDS));
+        assertEquals("gave up", second.get(10, TimeUnit.SECONDS));
+        assertEquals(4, server.getRequestHeaders().size());
+        assertEquals("gave up", service.exchange());
+        assertEquals(6, server.getRequestHeaders().size());
+    }
+
+    @Test
+    void rejectsCallsBeyondTheQueueOfTheExecutor() throws Exception {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1));
+        RestClientService.setAsyncExecutor(executor);
+        try {
+            executor.execute(this::awaitRelease);
+            RestClientService service = RestClientService.instance()
+                    .url(server.url("/ok"))
+                    .method(HttpMethod.GET)
+                    .resultClass(String.class);
+
+            CompletableFuture<String> queued = service.exchangeAsync();
+            assertThrows(RejectedExecutionException.class, service::exchangeAsync);
+
+            release.countDown();
+            assertEquals("{\"value\": \"ok\"}", queued.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void boundsTheQueueOfTheDefaultExecutor() {
+        Executor executor = RestClientService.getAsyncExecutor();
+
+        // virtual threads from JDK 21 on, nothing to queue
+        if (executor instanceof ThreadPoolExecutor pool) {
+            assertEquals(1024, pool.getQueue().remainingCapacity());
+            assertEquals(64, pool.getMaximumPoolSize());
+        }
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
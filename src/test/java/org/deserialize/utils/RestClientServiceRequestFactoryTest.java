@@ -0,0 +1,124 @@
+package com.enel.eic.commons.rest;
+
+import com.enel.eic.commons.exception.CommonsException;
+import com.enel.eic.commons.rest.RestClientService.RequestFactoryKey;
+import com.enel.eic.commons.rest.RestClientService.RequestFactoryStrategyEnum;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RestClientServiceRequestFactoryTest {
+
+    private RestTestServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = RestTestServer.start()
+                .handle("/ok", exchange -> RestTestServer.respond(exchange, 200, "{\"value\": \"ok\"}"))
+                .handle("/error", exchange -> RestTestServer.respond(exchange, 500, "{\"error\": \"ko\"}"));
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.close();
+        RestClientService.shutdown();
+    }
+
+    @Test
+    void sharesOneRequestFactoryPerKey() throws Exception {
+        RequestFactoryKey key = new RequestFactoryKey(RequestFactoryStrategyEnum.IGNORE_VALIDATION, List.of(), 1000, 1000);
+        HttpComponentsClientHttpRequestFactory requestFactory = RestClientService.getRequestFactory(key);
+
+        assertSame(requestFactory, RestClientService.getRequestFactory(
+                new RequestFactoryKey(RequestFactoryStrategyEnum.IGNORE_VALIDATION, List.of(), 1000, 1000)));
+        assertNotSame(requestFactory, RestClientService.getRequestFactory(
+                new RequestFactoryKey(RequestFactoryStrategyEnum.IGNORE_VALIDATION, List.of(), 1000, 2000)));
+        assertNotSame(requestFactory, RestClientService.getRequestFactory(
+                new RequestFactoryKey(RequestFactoryStrategyEnum.IGNORE_VALIDATION, List.of("localhost"), 1000, 1000)));
+        assertNotSame(requestFactory, RestClientService.getRequestFactory(
+                new RequestFactoryKey(RequestFactoryStrategyEnum.KEYSTORE_VALIDATION, List.of(), 1000, 1000)));
+
+        RestClientService.shutdown();
+        assertNotSame(requestFactory, RestClientService.getRequestFactory(key));
+    }
+
+    @Test
+    void keepsOneRequestFactoryWhenCreatedConcurrently() {
+        RequestFactoryKey key = new RequestFactoryKey(RequestFactoryStrategyEnum.HANDSHAKE_CERT_VALIDATION, List.of(), 1000, 1000);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<CompletableFuture<HttpComponentsClientHttpRequestFactory>> requestFactories = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                requestFactories.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return RestClientService.getRequestFactory(key);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }, executor));
+            }
+
+            Set<HttpComponentsClientHttpRequestFactory> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+            requestFactories.forEach(requestFactory -> distinct.add(requestFactory.join()));
+            assertEquals(1, distinct.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void destroysTheRequestFactoryOfACustomStrategyAfterEachCall() {
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger destroyed = new AtomicInteger();
+        RestClientService.RequestFactoryStrategy strategy = sslHostnameVerifierList -> {
+            created.incrementAndGet();
+            return new HttpComponentsClientHttpRequestFactory() {
+                @Override
+                public void destroy() throws Exception {
+                    destroyed.incrementAndGet();
+                    super.destroy();
+                }
+            };
+        };
+
+        Map<?, ?> result = RestClientService.instance()
+                .url(server.url("/ok"))
+                .method(HttpMethod.GET)
+                .requestFactoryStrategy(strategy)
+                .resultClass(Map.class)
+                .exchange();
+
+        assertEquals("ok", result.get("value"));
+        assertEquals(1, created.get());
+        assertEquals(1, destroyed.get());
+
+        assertThrows(CommonsException.class, () -> RestClientService.instance()
+                .url(server.url("/error"))
+                .method(HttpMethod.GET)
+                .requestFactoryStrategy(strategy)
+                .resultClass(Map.class)
+                .exchange());
+
+        assertEquals(2, created.get());
+        assertEquals(2, destroyed.get());
+    }
+}
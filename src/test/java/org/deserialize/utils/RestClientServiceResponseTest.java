@@ -0,0 +1,115 @@
+package com.enel.eic.commons.rest;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.enel.eic.commons.exception.CommonsException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RestClientServiceResponseTest {
+
+    private static final int ITEMS = 20_000;
+
+    private RestTestServer server;
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = RestTestServer.start()
+                .handle("/items", exchange -> RestTestServer.respond(exchange, 200, items()))
+                .handle("/empty", exchange -> RestTestServer.respond(exchange, 200, Map.of(), null))
+                .handle("/error", exchange -> RestTestServer.respond(exchange, 500, "{\"error\": \"" + "e".repeat(10_000) + "\"}"));
+        appender.start();
+        ((Logger) LoggerFactory.getLogger(RestClientService.class)).addAppender(appender);
+    }
+
+    @AfterEach
+    void stopServer() {
+        ((Logger) LoggerFactory.getLogger(RestClientService.class)).detachAppender(appender);
+        server.close();
+        RestClientService.shutdown();
+    }
+
+    @Test
+    void decodesLargeResponsesAndLogsTheirHead() {
+        List<Map<String, Object>> items = RestClientService.instance()
+                .url(server.url("/items"))
+                .method(HttpMethod.GET)
+                .resultTypeReference(new TypeReference<List<Map<String, Object>>>() {})
+                .exchange();
+
+        assertEquals(ITEMS, items.size());
+        assertEquals(ITEMS - 1, items.get(ITEMS - 1).get("id"));
+        assertEquals(items().substring(0, RestClientService.MAX_BODY_SIZE) + RestClientService.OMISSIS, loggedBody());
+    }
+
+    @Test
+    void readsAnEmptyBodyAsNoResult() {
+        Object result = RestClientService.instance()
+                .url(server.url("/empty"))
+                .method(HttpMethod.GET)
+                .resultClass(Map.class)
+                .exchange();
+
+        assertNull(result);
+        assertEquals("", loggedBody());
+    }
+
+    @Test
+    void logsTheHeadOfErrorResponses() {
+        assertThrows(CommonsException.class, () -> RestClientService.instance()
+                .url(server.url("/error"))
+                .method(HttpMethod.GET)
+                .resultClass(Map.class)
+                .exchange());
+
+        String logged = loggedBody();
+        assertEquals(RestClientService.MAX_BODY_SIZE + RestClientService.OMISSIS.length(), logged.length());
+        assertEquals("{\"error\": \"eee", logged.substring(0, 14));
+    }
+
+    @Test
+    void keepsTheFirstBytesOfWhatIsRead() throws IOException {
+        byte[] body = "x".repeat(10_000).getBytes(StandardCharsets.UTF_8);
+
+        RestClientService.LoggedBody large = new RestClientService.LoggedBody(new ByteArrayInputStream(body));
+        assertArrayEquals(body, large.readAllBytes());
+        assertEquals("x".repeat(RestClientService.MAX_BODY_SIZE) + RestClientService.OMISSIS, large.toString());
+
+        RestClientService.LoggedBody small = new RestClientService.LoggedBody(new ByteArrayInputStream("{\"a\": 1}".getBytes(StandardCharsets.UTF_8)));
+        assertEquals('{', small.read());
+        assertEquals(3, small.skip(3));
+        small.readAllBytes();
+        assertEquals("{\"a\": 1}", small.toString());
+    }
+
+    private String loggedBody() {
+        ILoggingEvent event = appender.list.get(appender.list.size() - 1);
+        Object[] arguments = event.getArgumentArray();
+        return (String) arguments[arguments.length - 1];
+    }
+
+    private static String items() {
+        StringBuilder items = new StringBuilder("[");
+        for (int id = 0; id < ITEMS; id++) {
+            items.append(id == 0 ? "" : ",").append("{\"id\":").append(id).append(",\"name\":\"item-").append(id).append("\"}");
+        }
+        return items.append(']').toString();
+    }
+}
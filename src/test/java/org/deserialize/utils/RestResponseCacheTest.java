@@ -0,0 +1,120 @@
+package com.enel.eic.commons.rest;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RestResponseCacheTest {
+
+    // body, key and headers of a 100 bytes body under a one letter key, with "Cache-Control: max-age=60"
+    private static final long ENTRY_WEIGHT = 100 + 2 + 2 * ("Cache-Control".length() + "max-age=60".length());
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntriesBeyondItsSize() {
+        RestResponseCache cache = new RestResponseCache(2 * ENTRY_WEIGHT);
+        cache.put("a", entry(headers("Cache-Control", "max-age=60"), 100));
+        cache.put("b", entry(headers("Cache-Control", "max-age=60"), 100));
+        assertNotNull(cache.get("a"));
+
+        cache.put("c", entry(headers("Cache-Control", "max-age=60"), 100));
+
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+    }
+
+    @Test
+    void dropsTheKeyOfAnEntryLargerThanTheCache() {
+        RestResponseCache cache = new RestResponseCache(2 * ENTRY_WEIGHT);
+        cache.put("a", entry(headers("Cache-Control", "max-age=60"), 100));
+        cache.put("b", entry(headers("Cache-Control", "max-age=60"), 100));
+
+        cache.put("a", entry(headers("Cache-Control", "max-age=60"), (int) (2 * ENTRY_WEIGHT)));
+
+        assertNull(cache.get("a"));
+        assertNotNull(cache.get("b"));
+        // the space of the dropped entry is free again
+        cache.put("c", entry(headers("Cache-Control", "max-age=60"), 100));
+        assertNotNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+    }
+
+    @Test
+    void keepsResponsesFreshForMaxAgeLessAge() {
+        long before = System.currentTimeMillis();
+        RestResponseCache.Entry aged = entry(headers("Cache-Control", "max-age=60", "Age", "50"), 1);
+
+        assertTrue(aged.isFresh());
+        assertTrue(aged.expiresAt() >= before + 10_000 && aged.expiresAt() <= System.currentTimeMillis() + 10_000);
+
+        assertFalse(entry(headers("Cache-Control", "max-age=60", "Age", "70"), 1).isStorable());
+        RestResponseCache.Entry stale = entry(headers("Cache-Control", "max-age=60", "Age", "70", "ETag", "\"v1\""), 1);
+        assertTrue(stale.isStorable());
+        assertFalse(stale.isFresh());
+    }
+
+    @Test
+    void neverStoresNoStoreResponses() {
+        RestResponseCache cache = new RestResponseCache(1024);
+        HttpHeaders noStore = headers("Cache-Control", "max-age=60, no-store", "ETag", "\"v1\"");
+
+        assertFalse(cache.mayStore(noStore));
+        cache.put("a", entry(noStore, 1));
+        assertNull(cache.get("a"));
+
+        // no-cache is stored, but revalidated before every use
+        RestResponseCache.Entry noCache = entry(headers("Cache-Control", "no-cache", "ETag", "\"v1\""), 1);
+        assertTrue(noCache.isStorable());
+        assertFalse(noCache.isFresh());
+    }
+
+    @Test
+    void mergesTheHeadersOfANotModifiedResponse() {
+        RestResponseCache.Entry cached = RestResponseCache.Entry.of(
+                headers("Cache-Control", "no-cache", "ETag", "\"v1\"", "Content-Length", "5", "X-Origin", "cached"),
+                "hello".getBytes(StandardCharsets.UTF_8));
+
+        RestResponseCache.Entry revalidated = cached.revalidated(headers("Cache-Control", "max-age=60", "ETag", "\"v2\"", "Content-Length", "0"));
+
+        assertArrayEquals("hello".getBytes(StandardCharsets.UTF_8), revalidated.body());
+        assertEquals("\"v2\"", revalidated.headers().getETag());
+        assertEquals(5, revalidated.headers().getContentLength());
+        assertEquals("cached", revalidated.headers().getFirst("X-Origin"));
+        assertTrue(revalidated.isFresh());
+    }
+
+    @Test
+    void weighsResponsesOfUnknownLengthOnceRead() {
+        RestResponseCache cache = new RestResponseCache(ENTRY_WEIGHT);
+        HttpHeaders unknownLength = headers("Cache-Control", "max-age=60");
+
+        assertTrue(cache.mayStore(unknownLength));
+        assertFalse(cache.mayStore(headers("Cache-Control", "max-age=60", "Content-Length", String.valueOf(ENTRY_WEIGHT + 1))));
+        assertFalse(cache.mayStore(headers("Cache-Control", "no-cache")));
+
+        cache.put("a", entry(unknownLength, 101));
+        assertNull(cache.get("a"));
+        cache.put("a", entry(unknownLength, 100));
+        assertNotNull(cache.get("a"));
+    }
+
+    private static RestResponseCache.Entry entry(HttpHeaders headers, int bodyLength) {
+        return RestResponseCache.Entry.of(headers, new byte[bodyLength]);
+    }
+
+    private static HttpHeaders headers(String... namesAndValues) {
+        HttpHeaders headers = new HttpHeaders();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            headers.set(namesAndValues[i], namesAndValues[i + 1]);
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,93 @@
+package com.enel.eic.commons.rest;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local http server answering the {@link RestClientService} calls of the tests, recording the headers of every
+ * request and the highest number of requests it served at once.
+ */
+final class RestTestServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final List<Headers> requestHeaders = new CopyOnWriteArrayList<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private RestTestServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    static RestTestServer start() throws IOException {
+        return new RestTestServer();
+    }
+
+    /**
+     * Answers the requests of {@code path} and of the paths below it.
+     */
+    RestTestServer handle(String path, HttpHandler handler) {
+        server.createContext(path, exchange -> {
+            requestHeaders.add(exchange.getRequestHeaders());
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try (exchange) {
+                handler.handle(exchange);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+        return this;
+    }
+
+    String url(String path) {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + path;
+    }
+
+    List<Headers> getRequestHeaders() {
+        return requestHeaders;
+    }
+
+    int getMaxInFlight() {
+        return maxInFlight.get();
+    }
+
+    static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        respond(exchange, status, Map.of("Content-Type", "application/json"), body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param body {@code null} for a response without body, e.g. a {@code 304}
+     */
+    static void respond(HttpExchange exchange, int status, Map<String, String> headers, byte[] body) throws IOException {
+        try (InputStream request = exchange.getRequestBody()) {
+            request.readAllBytes();
+        }
+        headers.forEach(exchange.getResponseHeaders()::set);
+        exchange.sendResponseHeaders(status, body == null ? -1 : body.length);
+        if (body != null) {
+            exchange.getResponseBody().write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}